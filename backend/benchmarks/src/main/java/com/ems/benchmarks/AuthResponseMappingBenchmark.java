@@ -0,0 +1,75 @@
+package com.ems.benchmarks;
+
+import com.ems.domain.Department;
+import com.ems.domain.Organization;
+import com.ems.domain.User;
+import com.ems.dto.AuthResponse;
+import com.ems.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to login DTO mapping as done by AuthService: User to UserPrincipal snapshot,
+ * then the AuthResponse builder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthResponseMappingBenchmark {
+    private User user;
+    private UserPrincipal principal;
+
+    @Setup
+    public void setUp() {
+        Organization organization = new Organization();
+        organization.setId(1L);
+        organization.setName("Acme");
+        Department department = new Department();
+        department.setId(2L);
+        department.setName("Engineering");
+
+        user = new User();
+        user.setId(3L);
+        user.setEmail("jane.doe@example.com");
+        user.setPassword("{bcrypt}$2a$10$abcdefghijklmnopqrstuv");
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setOrganization(organization);
+        user.setDepartment(department);
+        user.setRoles(Set.of("ROLE_EMPLOYEE", "ROLE_MANAGER"));
+        principal = UserPrincipal.from(user);
+    }
+
+    @Benchmark
+    public UserPrincipal userToPrincipal() {
+        return UserPrincipal.from(user);
+    }
+
+    @Benchmark
+    public AuthResponse principalToResponse() {
+        return AuthResponse.builder()
+                .token("token")
+                .userId(principal.getId())
+                .email(principal.getEmail())
+                .firstName(principal.getFirstName())
+                .lastName(principal.getLastName())
+                .roles(principal.getRoles())
+                .organizationName(principal.getOrganizationName())
+                .departmentName(principal.getDepartmentName())
+                .build();
+    }
+}
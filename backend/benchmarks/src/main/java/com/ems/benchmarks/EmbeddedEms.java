@@ -0,0 +1,152 @@
+package com.ems.benchmarks;
+
+import com.ems.EMSApplication;
+import com.ems.index.EmployeeDirectoryIndex;
+import com.ems.index.LeaveIntervalIndex;
+import com.ems.index.ProjectNameIndex;
+import com.ems.index.ReportingLineIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the backend against an in-memory H2 database and seeds it with a configurable
+ * number of timesheets and leaves spread over a fixed set of users.
+ */
+final class EmbeddedEms {
+    static final int USERS = 1000;
+    static final int DEPARTMENTS = 20;
+    static final LocalDate SEED_START = LocalDate.of(2015, 1, 1);
+
+    private static final int INSERT_CHUNK = 10_000;
+
+    private EmbeddedEms() {
+    }
+
+    /**
+     * Starts the full application context. {@code overrides} are extra command-line properties
+     * for settings the benchmark varies; they must not repeat one of the defaults below.
+     */
+    static ConfigurableApplicationContext start(String databaseName, String... overrides) {
+        // Passed as command-line arguments so they take precedence over application.properties.
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.flyway.enabled=false",
+                "--ems.outbox.dispatcher.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--jwt.secret=" + JwtTokenProviderBenchmark.SECRET,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.com.ems=WARN"));
+        args.addAll(List.of(overrides));
+        return new SpringApplicationBuilder(EMSApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Seeds over JDBC and then reloads the in-memory indexes, which were loaded from the
+     * empty schema at startup and never see rows that bypass the services.
+     */
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        insertRows(context.getBean(JdbcTemplate.class), rows);
+        context.getBean(LeaveIntervalIndex.class).load();
+        context.getBean(ReportingLineIndex.class).load();
+        context.getBean(ProjectNameIndex.class).load();
+        context.getBean(EmployeeDirectoryIndex.class).load();
+    }
+
+    private static void insertRows(JdbcTemplate jdbc, int rows) {
+        jdbc.update("insert into organizations (name, subdomain, working_days) values ('Benchmark Corp', 'bench', 31)");
+        Long organizationId = jdbc.queryForObject("select max(id) from organizations", Long.class);
+
+        batchInsert(jdbc, "insert into departments (name, organization_id) values (?, ?)", DEPARTMENTS,
+                (ps, i) -> {
+                    ps.setString(1, "Department " + i);
+                    ps.setLong(2, organizationId);
+                });
+        Long firstDepartmentId = jdbc.queryForObject("select min(id) from departments", Long.class);
+
+        batchInsert(jdbc, "insert into users (email, password, first_name, last_name, position, organization_id, "
+                        + "department_id, enabled) values (?, ?, ?, ?, ?, ?, ?, true)", USERS,
+                (ps, i) -> {
+                    ps.setString(1, "user" + i + "@bench.example.com");
+                    ps.setString(2, "{noop}password");
+                    ps.setString(3, "First" + i);
+                    ps.setString(4, "Last" + i);
+                    ps.setString(5, "Engineer");
+                    ps.setLong(6, organizationId);
+                    ps.setLong(7, firstDepartmentId + i % DEPARTMENTS);
+                });
+        Long firstUserId = jdbc.queryForObject("select min(id) from users", Long.class);
+
+        batchInsert(jdbc, "insert into timesheets (id, user_id, department_id, organization_id, date, start_time, "
+                        + "end_time, project, description, status, version) "
+                        + "values (next value for timesheets_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", rows,
+                (ps, i) -> {
+                    ps.setLong(1, firstUserId + i % USERS);
+                    ps.setLong(2, firstDepartmentId + i % USERS % DEPARTMENTS);
+                    ps.setLong(3, organizationId);
+                    ps.setDate(4, Date.valueOf(SEED_START.plusDays(i / USERS)));
+                    ps.setTime(5, Time.valueOf(LocalTime.of(9, 0)));
+                    ps.setTime(6, Time.valueOf(LocalTime.of(17, 0)));
+                    ps.setString(7, "Project " + i % 50);
+                    ps.setString(8, "Seeded entry " + i);
+                    ps.setString(9, i % 4 == 0 ? "PENDING" : "APPROVED");
+                });
+
+        batchInsert(jdbc, "insert into leaves (user_id, department_id, organization_id, start_date, end_date, type, "
+                        + "reason, status, version) values (?, ?, ?, ?, ?, ?, ?, ?, 0)", rows,
+                (ps, i) -> {
+                    LocalDate start = SEED_START.plusDays(3L * (i / USERS));
+                    ps.setLong(1, firstUserId + i % USERS);
+                    ps.setLong(2, firstDepartmentId + i % USERS % DEPARTMENTS);
+                    ps.setLong(3, organizationId);
+                    ps.setDate(4, Date.valueOf(start));
+                    ps.setDate(5, Date.valueOf(start.plusDays(1)));
+                    ps.setString(6, "ANNUAL");
+                    ps.setString(7, "Seeded leave " + i);
+                    ps.setString(8, i % 4 == 0 ? "PENDING" : "APPROVED");
+                });
+    }
+
+    private static void batchInsert(JdbcTemplate jdbc, String sql, int rows, RowBinder binder) {
+        for (int from = 0; from < rows; from += INSERT_CHUNK) {
+            int offset = from;
+            int size = Math.min(INSERT_CHUNK, rows - from);
+            jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    binder.bind(ps, offset + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    interface RowBinder {
+        void bind(PreparedStatement ps, int row) throws SQLException;
+    }
+}
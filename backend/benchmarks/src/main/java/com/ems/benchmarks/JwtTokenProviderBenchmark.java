@@ -0,0 +1,76 @@
+package com.ems.benchmarks;
+
+import com.ems.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification. {@code verifiedTokenCacheSize=0} measures a full
+ * signature check on every call; a non-zero size measures the warm verified-token path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+    static final String SECRET = "benchmark-secret-key-with-at-least-256-bits!";
+
+    @Param({"0", "10000"})
+    private long verifiedTokenCacheSize;
+
+    private ConfigurableApplicationContext context;
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedEms.start("ems-jwt-" + verifiedTokenCacheSize,
+                "--jwt.expiration=3600000",
+                "--jwt.verified-token-cache-size=" + verifiedTokenCacheSize);
+        tokenProvider = context.getBean(JwtTokenProvider.class);
+
+        authentication = new UsernamePasswordAuthenticationToken("jane.doe@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE"), new SimpleGrantedAuthority("ROLE_MANAGER")));
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Object validateAndExtract() {
+        return tokenProvider.validateAndExtract(token);
+    }
+}
@@ -0,0 +1,136 @@
+package com.ems.benchmarks;
+
+import com.ems.domain.Leave;
+import com.ems.domain.Timesheet;
+import com.ems.domain.User;
+import com.ems.repository.UserRepository;
+import com.ems.service.LeaveService;
+import com.ems.service.TimesheetService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Create, approve and list paths of the leave and timesheet services against an
+ * embedded database seeded with {@code rows} timesheets and {@code rows} leaves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PersistenceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private LeaveService leaveService;
+    private TimesheetService timesheetService;
+    private User employee;
+    private User approver;
+    private final AtomicLong dayOffset = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedEms.start("ems-bench-" + rows);
+        jdbc = context.getBean(JdbcTemplate.class);
+        EmbeddedEms.seed(context, rows);
+        leaveService = context.getBean(LeaveService.class);
+        timesheetService = context.getBean(TimesheetService.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        List<User> users = userRepository.findAll();
+        employee = users.get(0);
+        approver = users.get(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Leave createLeave() {
+        LocalDate start = nextFreeDay();
+        Leave leave = new Leave();
+        leave.setUser(employee);
+        leave.setStartDate(start);
+        leave.setEndDate(start);
+        // Uncapped, so the balance check still runs but a long measurement never exhausts it.
+        leave.setType(Leave.LeaveType.UNPAID);
+        return leaveService.createLeaveRequest(leave);
+    }
+
+    @Benchmark
+    public Timesheet createTimesheet() {
+        Timesheet timesheet = new Timesheet();
+        timesheet.setUser(employee);
+        timesheet.setDate(nextFreeDay());
+        timesheet.setStartTime(LocalTime.of(9, 0));
+        timesheet.setEndTime(LocalTime.of(17, 0));
+        timesheet.setProject("Benchmark");
+        return timesheetService.createTimesheet(timesheet);
+    }
+
+    @Benchmark
+    public Timesheet approveTimesheet(PendingTimesheet pending) {
+        return timesheetService.approveTimesheet(pending.id, approver, "ok");
+    }
+
+    @Benchmark
+    public List<Timesheet> listTimesheetsByStatusPage() {
+        long afterId = ThreadLocalRandom.current().nextLong(Math.max(1, rows - 100));
+        return timesheetService.getTimesheetsByStatus(Timesheet.TimesheetStatus.APPROVED, afterId, 100);
+    }
+
+    @Benchmark
+    public List<Leave> listLeavesByStatusPage() {
+        long afterId = ThreadLocalRandom.current().nextLong(Math.max(1, rows - 100));
+        return leaveService.getLeavesByStatus(Leave.LeaveStatus.APPROVED, afterId, 100);
+    }
+
+    // Weekdays only: leaves and timesheets on non-working days are rejected.
+    private LocalDate nextFreeDay() {
+        LocalDate day;
+        do {
+            day = LocalDate.of(2100, 1, 1).plusDays(dayOffset.getAndIncrement());
+        } while (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY);
+        return day;
+    }
+
+    @State(Scope.Thread)
+    public static class PendingTimesheet {
+        Long id;
+
+        @Setup(Level.Invocation)
+        public void insert(PersistenceBenchmark benchmark) {
+            id = benchmark.jdbc.queryForObject("select next value for timesheets_seq", Long.class);
+            benchmark.jdbc.update("insert into timesheets (id, user_id, date, start_time, end_time, status, version) "
+                            + "values (?, ?, ?, '09:00:00', '17:00:00', 'PENDING', 0)",
+                    id, benchmark.employee.getId(), benchmark.nextFreeDay());
+        }
+    }
+}
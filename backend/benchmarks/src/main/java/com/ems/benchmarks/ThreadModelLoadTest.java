@@ -0,0 +1,121 @@
+package com.ems.benchmarks;
+
+import com.ems.domain.Leave;
+import com.ems.service.LeaveService;
+import com.ems.support.VirtualThreads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test comparing the Tomcat-style platform thread pool with one virtual
+ * thread per request. {@code loadtest.concurrency} requests stay in flight at all times.
+ * Each one reads a keyset page of leaves through LeaveService, so request time is
+ * dominated by JDBC. Latency is measured from submission, including time queued for a
+ * worker thread.
+ *
+ * <pre>
+ * mvn package exec:exec -Dbenchmark.main=com.ems.benchmarks.ThreadModelLoadTest \
+ *     -Dbenchmark.jvmArgs="-Dloadtest.concurrency=1000 -Dloadtest.seconds=30"
+ * </pre>
+ *
+ * The embedded H2 database never blocks on the network, so absolute numbers understate
+ * the gap a networked PostgreSQL shows; compare the two models against each other.
+ * Results are also written to target/loadtest-results.json.
+ */
+public final class ThreadModelLoadTest {
+    private ThreadModelLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("loadtest.rows", 100_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 1000);
+        int seconds = Integer.getInteger("loadtest.seconds", 30);
+        int platformThreads = Integer.getInteger("loadtest.platform-threads", 200);
+
+        try (ConfigurableApplicationContext context = EmbeddedEms.start("ems-loadtest")) {
+            EmbeddedEms.seed(context, rows);
+            LeaveService leaveService = context.getBean(LeaveService.class);
+
+            List<String> results = new ArrayList<>();
+            results.add(run("platform-" + platformThreads, Executors.newFixedThreadPool(platformThreads),
+                    leaveService, rows, concurrency, seconds));
+            if (VirtualThreads.isSupported()) {
+                results.add(run("virtual", VirtualThreads.newThreadPerTaskExecutor("loadtest-vt-"),
+                        leaveService, rows, concurrency, seconds));
+            } else {
+                System.out.println("Skipping virtual-thread run: requires Java 21, running on " + Runtime.version());
+            }
+
+            Path output = Path.of("target", "loadtest-results.json");
+            Files.createDirectories(output.getParent());
+            Files.writeString(output, "[\n  " + String.join(",\n  ", results) + "\n]\n");
+            System.out.println("Results written to " + output.toAbsolutePath());
+        }
+    }
+
+    private static String run(String model, ExecutorService executor, LeaveService leaveService,
+                              int rows, int concurrency, int seconds) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long[] latencies = new long[8_000_000];
+        AtomicLong recorded = new AtomicLong();
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < deadline) {
+            inFlight.acquire();
+            long submittedAt = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    long afterId = ThreadLocalRandom.current().nextLong(Math.max(1, rows - 100));
+                    leaveService.getLeavesByStatus(Leave.LeaveStatus.APPROVED, afterId, 50);
+                    completed.increment();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                } finally {
+                    long slot = recorded.getAndIncrement();
+                    if (slot < latencies.length) {
+                        latencies[(int) slot] = System.nanoTime() - submittedAt;
+                    }
+                    inFlight.release();
+                }
+            });
+        }
+        inFlight.acquire(concurrency);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        long[] sample = Arrays.copyOf(latencies, (int) Math.min(recorded.get(), latencies.length));
+        Arrays.sort(sample);
+        String result = String.format(Locale.ROOT,
+                "{\"model\": \"%s\", \"concurrency\": %d, \"requests\": %d, \"errors\": %d, "
+                        + "\"throughputPerSecond\": %.1f, \"p50Ms\": %.2f, \"p99Ms\": %.2f, \"maxMs\": %.2f}",
+                model, concurrency, completed.sum(), failed.sum(), completed.sum() / elapsedSeconds,
+                percentileMillis(sample, 0.50), percentileMillis(sample, 0.99), percentileMillis(sample, 1.0));
+        System.out.println(result);
+        return result;
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ems.benchmarks;
+
+import com.ems.domain.Timesheet;
+import com.ems.service.TimesheetService;
+import com.ems.service.impl.TimesheetServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimesheetValidationBenchmark {
+    private ConfigurableApplicationContext context;
+    private TimesheetServiceImpl timesheetService;
+    private MethodHandle validateTimesheet;
+    private Timesheet timesheet;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = EmbeddedEms.start("ems-validation", "--ems.timesheets.working-days-only=true");
+        // The bean is a transactional proxy; the private check runs on the wired target.
+        timesheetService = (TimesheetServiceImpl) AopProxyUtils.getSingletonTarget(
+                context.getBean(TimesheetService.class));
+        validateTimesheet = MethodHandles.privateLookupIn(TimesheetServiceImpl.class, MethodHandles.lookup())
+                .findVirtual(TimesheetServiceImpl.class, "validateTimesheet",
+                        MethodType.methodType(void.class, Timesheet.class));
+
+        // Without an organization the built-in Monday to Friday calendar applies, so the
+        // working-day check is answered from the calendar cache.
+        timesheet = new Timesheet();
+        timesheet.setDate(LocalDate.of(2024, 3, 4));
+        timesheet.setStartTime(LocalTime.of(9, 0));
+        timesheet.setEndTime(LocalTime.of(17, 30));
+        timesheet.setProject("Payroll migration");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void validateTimesheet() throws Throwable {
+        validateTimesheet.invoke(timesheetService, timesheet);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ems.balance;
+
+import com.ems.calendar.WorkingCalendars;
+import com.ems.domain.Leave;
+import com.ems.domain.LeaveBalance;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Net change to the leave balances produced by one unit of work, counted in working days of
+ * the employee's organization calendar. Changes are merged per row and kept in primary key
+ * order so concurrent writers always lock rows in the same sequence.
+ */
+public final class LeaveBalanceDeltas {
+    static final Comparator<LeaveBalance.Key> PRIMARY_KEY_ORDER =
+            Comparator.comparing(LeaveBalance.Key::getUserId)
+                    .thenComparing(LeaveBalance.Key::getLeaveType)
+                    .thenComparingInt(LeaveBalance.Key::getBalanceYear);
+
+    private final WorkingCalendars workingCalendars;
+    private final Map<LeaveBalance.Key, Change> changes = new TreeMap<>(PRIMARY_KEY_ORDER);
+
+    public LeaveBalanceDeltas(WorkingCalendars workingCalendars) {
+        this.workingCalendars = workingCalendars;
+    }
+
+    public LeaveBalanceDeltas reserve(Leave leave) {
+        return accumulate(leave, 0, 1);
+    }
+
+    public LeaveBalanceDeltas release(Leave leave) {
+        return accumulate(leave, 0, -1);
+    }
+
+    public LeaveBalanceDeltas approve(Leave leave) {
+        return accumulate(leave, 1, -1);
+    }
+
+    public LeaveBalanceDeltas refund(Leave leave) {
+        return accumulate(leave, -1, 0);
+    }
+
+    // Moves the days of a leave that leaves the given status out of the balance.
+    public LeaveBalanceDeltas withdraw(Leave leave, Leave.LeaveStatus previousStatus) {
+        return switch (previousStatus) {
+            case PENDING -> release(leave);
+            case APPROVED -> refund(leave);
+            default -> this;
+        };
+    }
+
+    // Books a leave in its current status, the inverse of withdraw.
+    public LeaveBalanceDeltas book(Leave leave) {
+        return count(leave.getUser().getId(), leave.getOrganizationId(), leave.getType(), leave.getStatus(),
+                leave.getStartDate(), leave.getEndDate());
+    }
+
+    // Counts a leave from history the way the live transitions would have booked it.
+    public LeaveBalanceDeltas count(Long userId, Long organizationId, Leave.LeaveType type, Leave.LeaveStatus status,
+                                    LocalDate startDate, LocalDate endDate) {
+        return switch (status) {
+            case PENDING -> accumulate(userId, organizationId, type, startDate, endDate, 0, 1);
+            case APPROVED -> accumulate(userId, organizationId, type, startDate, endDate, 1, 0);
+            default -> this;
+        };
+    }
+
+    private LeaveBalanceDeltas accumulate(Leave leave, int usedSign, int pendingSign) {
+        return accumulate(leave.getUser().getId(), leave.getOrganizationId(), leave.getType(),
+                leave.getStartDate(), leave.getEndDate(), usedSign, pendingSign);
+    }
+
+    private LeaveBalanceDeltas accumulate(Long userId, Long organizationId, Leave.LeaveType type,
+                                          LocalDate startDate, LocalDate endDate, int usedSign, int pendingSign) {
+        workingCalendars.workingDaysByYear(organizationId, startDate, endDate).forEach((year, days) -> {
+            Change change = changes.computeIfAbsent(new LeaveBalance.Key(userId, type, year),
+                    key -> new Change(organizationId));
+            change.usedDays += usedSign * days;
+            change.pendingDays += pendingSign * days;
+        });
+        return this;
+    }
+
+    void forEachChange(BiConsumer<LeaveBalance.Key, Change> consumer) {
+        changes.forEach((key, change) -> {
+            if (change.usedDays != 0 || change.pendingDays != 0) {
+                consumer.accept(key, change);
+            }
+        });
+    }
+
+    static final class Change {
+        final Long organizationId;
+        int usedDays;
+        int pendingDays;
+
+        Change(Long organizationId) {
+            this.organizationId = organizationId;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.ems.balance;
+
+import com.ems.calendar.WorkingCalendars;
+import com.ems.domain.Leave;
+import com.ems.domain.LeaveBalance;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes leave balances inside the caller's transaction. Every change is a primary key
+ * update, so checking and booking a leave costs the same however much history a user has.
+ * Entitlements come from ems.leave-balances.entitlements.&lt;TYPE&gt; and are copied into a
+ * row when it is first created; types without one are tracked but not capped.
+ */
+@Component
+public class LeaveBalanceLedger {
+    private static final String RESERVE = """
+            update leave_balances set pending_days = pending_days + ?
+            where user_id = ? and leave_type = ? and balance_year = ?
+              and (entitled_days is null or entitled_days - used_days - pending_days >= ?)""";
+    private static final String REMAINING = """
+            select entitled_days - used_days - pending_days from leave_balances
+            where user_id = ? and leave_type = ? and balance_year = ?""";
+    private static final String UPSERT = """
+            insert into leave_balances (used_days, pending_days, user_id, leave_type, balance_year, organization_id, entitled_days)
+            values (?, ?, ?, ?, ?, ?, ?)
+            on conflict (user_id, leave_type, balance_year) do update
+            set used_days = leave_balances.used_days + excluded.used_days,
+                pending_days = leave_balances.pending_days + excluded.pending_days""";
+    private static final String ADD = """
+            update leave_balances set used_days = used_days + ?, pending_days = pending_days + ?
+            where user_id = ? and leave_type = ? and balance_year = ?""";
+    private static final String SET = """
+            update leave_balances set used_days = ?, pending_days = ?
+            where user_id = ? and leave_type = ? and balance_year = ?""";
+    private static final String INSERT = """
+            insert into leave_balances (used_days, pending_days, user_id, leave_type, balance_year, organization_id, entitled_days)
+            values (?, ?, ?, ?, ?, ?, ?)""";
+    private static final String INSERT_IF_ABSENT_POSTGRES = """
+            insert into leave_balances (used_days, pending_days, user_id, leave_type, balance_year, organization_id, entitled_days)
+            values (0, 0, ?, ?, ?, ?, ?)
+            on conflict do nothing""";
+    private static final String INSERT_IF_ABSENT = """
+            insert into leave_balances (used_days, pending_days, user_id, leave_type, balance_year, organization_id, entitled_days)
+            select 0, 0, ?, ?, ?, ?, ? where not exists (
+                select 1 from leave_balances where user_id = ? and leave_type = ? and balance_year = ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkingCalendars workingCalendars;
+    private final boolean postgres;
+    private final Map<Leave.LeaveType, Integer> entitlements = new EnumMap<>(Leave.LeaveType.class);
+
+    public LeaveBalanceLedger(JdbcTemplate jdbcTemplate, WorkingCalendars workingCalendars, Environment environment)
+            throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.workingCalendars = workingCalendars;
+        this.postgres = "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(
+                jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName));
+        for (Leave.LeaveType type : Leave.LeaveType.values()) {
+            Integer days = environment.getProperty("ems.leave-balances.entitlements." + type.name(), Integer.class);
+            if (days != null) {
+                entitlements.put(type, days);
+            }
+        }
+    }
+
+    public Integer entitlement(Leave.LeaveType type) {
+        return entitlements.get(type);
+    }
+
+    // A guarded increment per year: the row lock taken by the update serializes concurrent
+    // requests for the same user, so two of them can never both spend the last days.
+    public void reserve(Leave leave) {
+        Long userId = leave.getUser().getId();
+        Map<Integer, Integer> daysByYear = workingCalendars.workingDaysByYear(
+                leave.getOrganizationId(), leave.getStartDate(), leave.getEndDate());
+        daysByYear.forEach((year, days) -> {
+            if (tryReserve(userId, leave.getType(), year, days)) {
+                return;
+            }
+            insertIfAbsent(new LeaveBalance.Key(userId, leave.getType(), year), leave.getOrganizationId());
+            if (!tryReserve(userId, leave.getType(), year, days)) {
+                Integer remaining = jdbcTemplate.queryForObject(REMAINING, Integer.class,
+                        userId, leave.getType().name(), year);
+                throw new IllegalStateException("Insufficient " + leave.getType() + " balance for " + year + ": "
+                        + days + " day(s) requested, " + remaining + " remaining");
+            }
+        });
+    }
+
+    public void apply(LeaveBalanceDeltas deltas) {
+        List<Object[]> rows = rows(deltas);
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (postgres) {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+            return;
+        }
+        for (Object[] row : rows) {
+            if (jdbcTemplate.update(ADD, row[0], row[1], row[2], row[3], row[4]) == 0) {
+                jdbcTemplate.update(INSERT, row);
+            }
+        }
+    }
+
+    // Zeroes the organization's rows and keeps them locked until the caller's transaction ends,
+    // so bookings that commit meanwhile wait and then land on top of the reconciled totals.
+    public void resetOrganization(Long organizationId) {
+        jdbcTemplate.update("update leave_balances set used_days = 0, pending_days = 0 where organization_id = ?",
+                organizationId);
+    }
+
+    public void overwrite(LeaveBalanceDeltas totals) {
+        for (Object[] row : rows(totals)) {
+            if (jdbcTemplate.update(SET, row[0], row[1], row[2], row[3], row[4]) == 0) {
+                jdbcTemplate.update(INSERT, row);
+            }
+        }
+    }
+
+    private boolean tryReserve(Long userId, Leave.LeaveType type, int year, int days) {
+        return jdbcTemplate.update(RESERVE, days, userId, type.name(), year, days) > 0;
+    }
+
+    private void insertIfAbsent(LeaveBalance.Key key, Long organizationId) {
+        SqlParameterValue entitled = new SqlParameterValue(Types.INTEGER, entitlement(key.getLeaveType()));
+        if (postgres) {
+            jdbcTemplate.update(INSERT_IF_ABSENT_POSTGRES, key.getUserId(), key.getLeaveType().name(),
+                    key.getBalanceYear(), organizationId, entitled);
+        } else {
+            jdbcTemplate.update(INSERT_IF_ABSENT, key.getUserId(), key.getLeaveType().name(), key.getBalanceYear(),
+                    organizationId, entitled, key.getUserId(), key.getLeaveType().name(), key.getBalanceYear());
+        }
+    }
+
+    private List<Object[]> rows(LeaveBalanceDeltas deltas) {
+        List<Object[]> rows = new ArrayList<>();
+        deltas.forEachChange((key, change) -> rows.add(new Object[] {
+                change.usedDays, change.pendingDays, key.getUserId(), key.getLeaveType().name(),
+                key.getBalanceYear(), change.organizationId,
+                new SqlParameterValue(Types.INTEGER, entitlement(key.getLeaveType()))}));
+        return rows;
+    }
+}
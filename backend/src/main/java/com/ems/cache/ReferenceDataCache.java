@@ -0,0 +1,48 @@
+package com.ems.cache;
+
+import com.ems.domain.Department;
+import com.ems.domain.Organization;
+import com.ems.support.TransactionCallbacks;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Explicit invalidation for the second-level cache regions holding organization and
+ * department reference data. Hibernate already invalidates entries it writes itself;
+ * this covers query regions and writes made outside the session (bulk JPQL, JDBC).
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+    public static final String DEPARTMENTS_REGION = "departments";
+    public static final String ORGANIZATIONS_REGION = "organizations";
+    public static final String DEPARTMENTS_BY_ORGANIZATION_REGION = "departmentsByOrganization";
+    public static final String ORGANIZATIONS_BY_SUBDOMAIN_REGION = "organizationsBySubdomain";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictDepartment(Long departmentId) {
+        TransactionCallbacks.afterCommit(() -> {
+            Cache cache = cache();
+            if (departmentId != null) {
+                cache.evictEntityData(Department.class, departmentId);
+            }
+            cache.evictQueryRegion(DEPARTMENTS_BY_ORGANIZATION_REGION);
+        });
+    }
+
+    public void evictOrganization(Long organizationId) {
+        TransactionCallbacks.afterCommit(() -> {
+            Cache cache = cache();
+            cache.evictEntityData(Organization.class, organizationId);
+            cache.evictQueryRegion(ORGANIZATIONS_BY_SUBDOMAIN_REGION);
+        });
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
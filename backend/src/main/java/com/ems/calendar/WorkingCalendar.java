@@ -0,0 +1,77 @@
+package com.ems.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Collection;
+
+/**
+ * One organization's working days for one year: a bit per day of the year, plus a running
+ * count of working days so any range inside the year is answered by a subtraction.
+ */
+public final class WorkingCalendar {
+    private final int year;
+    private final long[] workingBits;
+    // workingDaysBefore[i] is the number of working days among the first i days of the year
+    private final short[] workingDaysBefore;
+
+    private WorkingCalendar(int year, long[] workingBits, short[] workingDaysBefore) {
+        this.year = year;
+        this.workingBits = workingBits;
+        this.workingDaysBefore = workingDaysBefore;
+    }
+
+    public static WorkingCalendar of(int year, int workingWeekdays, Collection<LocalDate> holidays) {
+        int length = Year.of(year).length();
+        long[] bits = new long[(length + 63) / 64];
+        LocalDate date = LocalDate.ofYearDay(year, 1);
+        for (int day = 0; day < length; day++, date = date.plusDays(1)) {
+            if (isWorkingWeekday(workingWeekdays, date.getDayOfWeek())) {
+                bits[day >>> 6] |= 1L << day;
+            }
+        }
+        for (LocalDate holiday : holidays) {
+            if (holiday.getYear() == year) {
+                int day = holiday.getDayOfYear() - 1;
+                bits[day >>> 6] &= ~(1L << day);
+            }
+        }
+        short[] before = new short[length + 1];
+        for (int day = 0; day < length; day++) {
+            before[day + 1] = (short) (before[day] + ((bits[day >>> 6] >>> day) & 1L));
+        }
+        return new WorkingCalendar(year, bits, before);
+    }
+
+    public static boolean isWorkingWeekday(int workingWeekdays, DayOfWeek dayOfWeek) {
+        return (workingWeekdays & (1 << (dayOfWeek.getValue() - 1))) != 0;
+    }
+
+    public int year() {
+        return year;
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        int day = dayIndex(date);
+        return (workingBits[day >>> 6] & (1L << day)) != 0;
+    }
+
+    // Both bounds inclusive and inside this calendar's year.
+    public int workingDays(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return 0;
+        }
+        return workingDaysBefore[dayIndex(to) + 1] - workingDaysBefore[dayIndex(from)];
+    }
+
+    public int workingDaysInYear() {
+        return workingDaysBefore[workingDaysBefore.length - 1];
+    }
+
+    private int dayIndex(LocalDate date) {
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException(date + " is outside the " + year + " calendar");
+        }
+        return date.getDayOfYear() - 1;
+    }
+}
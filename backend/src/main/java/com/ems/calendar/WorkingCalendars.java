@@ -0,0 +1,113 @@
+package com.ems.calendar;
+
+import com.ems.domain.Holiday;
+import com.ems.domain.Organization;
+import com.ems.repository.HolidayRepository;
+import com.ems.repository.OrganizationRepository;
+import com.ems.support.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Working-day calendars per organization and year, built from the organization's working
+ * week and holidays on first use and cached until a calendar edit commits. Employees without
+ * an organization work Monday to Friday with no holidays.
+ */
+@Component
+public class WorkingCalendars {
+    private final HolidayRepository holidayRepository;
+    private final OrganizationRepository organizationRepository;
+    private final LoadingCache<YearKey, WorkingCalendar> calendars;
+    private final Function<YearKey, WorkingCalendar> source;
+
+    @Autowired
+    public WorkingCalendars(HolidayRepository holidayRepository, OrganizationRepository organizationRepository,
+                            @Value("${ems.calendar.cache-size:10000}") long cacheSize) {
+        this.holidayRepository = holidayRepository;
+        this.organizationRepository = organizationRepository;
+        this.calendars = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build(this::load);
+        this.source = calendars::get;
+    }
+
+    private WorkingCalendars(WorkingCalendars shared) {
+        this.holidayRepository = shared.holidayRepository;
+        this.organizationRepository = shared.organizationRepository;
+        this.calendars = null;
+        Map<YearKey, WorkingCalendar> local = new HashMap<>();
+        this.source = key -> local.computeIfAbsent(key, this::load);
+    }
+
+    /**
+     * Calendars read through the current transaction and never shared, for counting days
+     * against a calendar edit that has not committed yet.
+     */
+    public WorkingCalendars uncommitted() {
+        return new WorkingCalendars(this);
+    }
+
+    public WorkingCalendar get(Long organizationId, int year) {
+        return source.apply(new YearKey(organizationId, year));
+    }
+
+    public boolean isWorkingDay(Long organizationId, LocalDate date) {
+        return get(organizationId, date.getYear()).isWorkingDay(date);
+    }
+
+    public int workingDays(Long organizationId, LocalDate from, LocalDate to) {
+        return workingDaysByYear(organizationId, from, to).values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    // One subtraction per calendar year the range touches.
+    public Map<Integer, Integer> workingDaysByYear(Long organizationId, LocalDate from, LocalDate to) {
+        Map<Integer, Integer> days = new TreeMap<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            LocalDate start = year == from.getYear() ? from : LocalDate.of(year, 1, 1);
+            LocalDate end = year == to.getYear() ? to : LocalDate.of(year, 12, 31);
+            int count = get(organizationId, year).workingDays(start, end);
+            if (count > 0) {
+                days.put(year, count);
+            }
+        }
+        return days;
+    }
+
+    public void invalidate(Long organizationId) {
+        if (calendars == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() ->
+                calendars.asMap().keySet().removeIf(key -> Objects.equals(key.organizationId(), organizationId)));
+    }
+
+    private WorkingCalendar load(YearKey key) {
+        if (key.organizationId() == null) {
+            return WorkingCalendar.of(key.year(), Organization.MONDAY_TO_FRIDAY, List.of());
+        }
+        int workingWeekdays = organizationRepository.findById(key.organizationId())
+                .map(Organization::getWorkingDays)
+                .orElse(Organization.MONDAY_TO_FRIDAY);
+        List<LocalDate> holidays = holidayRepository.findByOrganizationIdAndDateBetweenOrderByDate(
+                        key.organizationId(), LocalDate.of(key.year(), 1, 1), LocalDate.of(key.year(), 12, 31))
+                .stream()
+                .map(Holiday::getDate)
+                .collect(Collectors.toList());
+        return WorkingCalendar.of(key.year(), workingWeekdays, holidays);
+    }
+
+    private record YearKey(Long organizationId, int year) {
+    }
+}
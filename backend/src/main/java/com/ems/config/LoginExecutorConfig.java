@@ -0,0 +1,56 @@
+package com.ems.config;
+
+import com.ems.security.LoginExecutors;
+import com.ems.support.VirtualThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class LoginExecutorConfig {
+
+    @Value("${ems.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${ems.login.io-threads:32}")
+    private int ioThreads;
+
+    @Value("${ems.login.io-queue-capacity:1000}")
+    private int ioQueueCapacity;
+
+    @Value("${ems.login.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${ems.login.hash-queue-capacity:500}")
+    private int hashQueueCapacity;
+
+    @Bean
+    public LoginExecutors loginExecutors(MeterRegistry meterRegistry) {
+        int hashPoolSize = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        // With virtual threads the database steps no longer need a sized pool: the Hikari pool
+        // bounds them, and back-pressure comes from the hashing pool alone.
+        ExecutorService ioPool = ExecutorServiceMetrics.monitor(meterRegistry,
+                virtualThreads
+                        ? VirtualThreads.newThreadPerTaskExecutor("login-io-")
+                        : boundedPool("login-io-", ioThreads, ioQueueCapacity),
+                "login.io");
+        ExecutorService hashPool = ExecutorServiceMetrics.monitor(meterRegistry,
+                boundedPool("login-hash-", hashPoolSize, hashQueueCapacity), "login.hash");
+        return new LoginExecutors(ioPool, hashPool, meterRegistry);
+    }
+
+    private static ThreadPoolExecutor boundedPool(String threadNamePrefix, int threads, int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory(threadNamePrefix),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,28 @@
+package com.ems.config;
+
+import com.ems.metrics.QueryBudgetFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class QueryBudgetConfig {
+
+    @Value("${ems.query-budget.mode:LOG}")
+    private QueryBudgetFilter.Mode mode;
+
+    @Value("${ems.query-budget.max-statements:30}")
+    private int maxStatements;
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(mode, maxStatements, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ems.config;
+
+import com.ems.tenancy.TenantBulkheadDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Declares the Hikari pool the way Spring Boot would, and puts the per-tenant bulkhead in
+ * front of it. The pool stays a bean of its own so its metrics are still published.
+ */
+@Configuration
+public class TenancyConfig {
+
+    @Value("${ems.tenancy.bulkhead.enabled:true}")
+    private boolean bulkheadEnabled;
+
+    @Value("${ems.tenancy.bulkhead.max-connections-per-tenant:10}")
+    private int maxConnectionsPerTenant;
+
+    @Value("${ems.tenancy.bulkhead.acquire-timeout:5s}")
+    private Duration acquireTimeout;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource connectionPool(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource connectionPool, MeterRegistry meterRegistry) {
+        return bulkheadEnabled
+                ? new TenantBulkheadDataSource(connectionPool, maxConnectionsPerTenant, acquireTimeout, meterRegistry)
+                : connectionPool;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ems.controller;
+
+import com.ems.domain.ImportCheckpoint;
+import com.ems.domain.Organization;
+import com.ems.dto.TenantImportReport;
+import com.ems.security.JwtPrincipal;
+import com.ems.service.TenantImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Onboards a tenant from two CSV files: departments (name, description) and users
+ * (email, first_name, last_name, phone_number, position, department, roles, password).
+ * Re-posting the same files with the returned import id resumes an interrupted run.
+ */
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class TenantImportController {
+    private final TenantImportService tenantImportService;
+
+    @PostMapping(value = "/tenants", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public TenantImportReport importTenant(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestParam(required = false) String importId,
+            @RequestParam String name,
+            @RequestParam(required = false) String subdomain,
+            @RequestParam(required = false) String contactEmail,
+            @RequestPart("departments") MultipartFile departments,
+            @RequestPart("users") MultipartFile users) throws IOException {
+        Organization organization = new Organization();
+        organization.setName(name);
+        organization.setSubdomain(subdomain);
+        organization.setContactEmail(contactEmail);
+        try (Reader departmentsCsv = new InputStreamReader(departments.getInputStream(), StandardCharsets.UTF_8);
+             Reader usersCsv = new InputStreamReader(users.getInputStream(), StandardCharsets.UTF_8)) {
+            return tenantImportService.importTenant(importId != null ? importId : UUID.randomUUID().toString(),
+                    organization, principal.userId(), departmentsCsv, usersCsv);
+        }
+    }
+
+    @GetMapping("/tenants/{importId}")
+    public ImportCheckpoint getImportStatus(@AuthenticationPrincipal JwtPrincipal principal,
+                                            @PathVariable String importId) {
+        return tenantImportService.getImportStatus(importId, principal.userId());
+    }
+}
@@ -0,0 +1,31 @@
+package com.ems.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "holidays", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_holidays_organization_date", columnNames = {"organization_id", "date"})
+})
+public class Holiday {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "organization_id")
+    private Long organizationId;
+
+    @NotNull
+    private LocalDate date;
+
+    @NotBlank
+    private String name;
+}
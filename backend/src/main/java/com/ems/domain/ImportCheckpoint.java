@@ -0,0 +1,50 @@
+package com.ems.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress of a tenant import, committed together with every chunk it describes. An
+ * interrupted import is resumed by running it again with the same id and input files:
+ * rows counted here are skipped.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "import_checkpoints")
+public class ImportCheckpoint {
+    @Id
+    @Column(length = 64)
+    private String importId;
+
+    private Long organizationId;
+
+    private Long createdBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private Stage stage = Stage.DEPARTMENTS;
+
+    private long departmentRows;
+
+    private long userRows;
+
+    private long departmentsCreated;
+
+    private long usersCreated;
+
+    private long rejectedRows;
+
+    private Instant startedAt;
+
+    private Instant updatedAt;
+
+    public enum Stage {
+        DEPARTMENTS,
+        USERS,
+        COMPLETED
+    }
+}
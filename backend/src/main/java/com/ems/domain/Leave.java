@@ -3,24 +3,45 @@ package com.ems.domain;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "leaves")
+@NamedEntityGraph(name = "Leave.userAndApprover", attributeNodes = {
+    @NamedAttributeNode("user"),
+    @NamedAttributeNode("approvedBy")
+})
+@Table(name = "leaves", indexes = {
+    @Index(name = "idx_leaves_department_status_start_date", columnList = "department_id, status, start_date"),
+    @Index(name = "idx_leaves_user_dates", columnList = "user_id, start_date, end_date"),
+    @Index(name = "idx_leaves_status_id", columnList = "status, id"),
+    @Index(name = "idx_leaves_organization_start_date", columnList = "organization_id, start_date")
+})
 public class Leave {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @NotNull
     private User user;
 
+    // Copied from the user when the row is created so department and organization scoped
+    // queries can use their own indexes; open rows follow the user between departments.
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "organization_id")
+    private Long organizationId;
+
     @NotNull
     private LocalDate startDate;
 
@@ -38,6 +59,8 @@ public class Leave {
     @NotNull
     private LeaveStatus status = LeaveStatus.PENDING;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "approved_by")
     private User approvedBy;
@@ -47,6 +70,10 @@ public class Leave {
     @Column(length = 1000)
     private String comments;
 
+    // Bumped by every write, including the guarded status updates in the repository.
+    @Version
+    private Long version;
+
     public enum LeaveType {
         ANNUAL,
         SICK,
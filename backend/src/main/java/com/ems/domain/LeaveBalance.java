@@ -0,0 +1,53 @@
+package com.ems.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+/**
+ * Working days booked per user, leave type and year. Rows are maintained by
+ * {@link com.ems.balance.LeaveBalanceLedger}; the entity is read-only.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "leave_balances", indexes = {
+    @Index(name = "idx_leave_balances_organization", columnList = "organization_id")
+})
+public class LeaveBalance {
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "organization_id")
+    private Long organizationId;
+
+    // Null when the leave type is not capped
+    private Integer entitledDays;
+
+    private int usedDays;
+
+    private int pendingDays;
+
+    public Integer getRemainingDays() {
+        return entitledDays != null ? entitledDays - usedDays - pendingDays : null;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+        private Long userId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(length = 32)
+        private Leave.LeaveType leaveType;
+
+        private int balanceYear;
+    }
+}
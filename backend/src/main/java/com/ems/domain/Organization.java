@@ -1,9 +1,14 @@
 package com.ems.domain;
 
+import com.ems.cache.ReferenceDataCache;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -11,8 +16,12 @@ import java.util.Set;
 @Data
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCache.ORGANIZATIONS_REGION)
 @Table(name = "organizations")
 public class Organization {
+    public static final int MONDAY_TO_FRIDAY = 0b0011111;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,9 +37,17 @@ public class Organization {
     private String contactEmail;
     private String contactPhone;
 
+    // Bitmask of the working weekdays, bit 0 being Monday
+    @Column(nullable = false)
+    private int workingDays = MONDAY_TO_FRIDAY;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL)
     private Set<Department> departments = new HashSet<>();
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL)
     private Set<User> users = new HashSet<>();
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.ems.domain;
+
+import com.ems.outbox.DomainEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A domain event recorded in the same transaction as the state change it describes.
+ * Rows are deleted once every subscriber has handled them; rows that keep failing end
+ * up as FAILED for inspection.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_status_id", columnList = "status, id")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 64)
+    private DomainEventType eventType;
+
+    private Long aggregateId;
+
+    private Long organizationId;
+
+    @Column(length = 4000)
+    private String payload;
+
+    private Instant createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public enum Status {
+        PENDING,
+        FAILED
+    }
+}
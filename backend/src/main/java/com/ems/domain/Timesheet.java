@@ -3,7 +3,9 @@ package com.ems.domain;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -11,17 +13,37 @@ import java.time.LocalTime;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "timesheets")
+@NamedEntityGraph(name = "Timesheet.userAndApprover", attributeNodes = {
+    @NamedAttributeNode("user"),
+    @NamedAttributeNode("approvedBy")
+})
+@Table(name = "timesheets", indexes = {
+    @Index(name = "idx_timesheets_department_status_date", columnList = "department_id, status, date"),
+    @Index(name = "idx_timesheets_user_date", columnList = "user_id, date"),
+    @Index(name = "idx_timesheets_status_id", columnList = "status, id"),
+    @Index(name = "idx_timesheets_organization_date", columnList = "organization_id, date")
+})
 public class Timesheet {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timesheets_seq")
+    @SequenceGenerator(name = "timesheets_seq", sequenceName = "timesheets_seq", allocationSize = 50)
     private Long id;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @NotNull
     private User user;
 
+    // Copied from the user when the row is created so department and organization scoped
+    // queries can use their own indexes; open rows follow the user between departments.
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "organization_id")
+    private Long organizationId;
+
     @NotNull
     private LocalDate date;
 
@@ -41,6 +63,8 @@ public class Timesheet {
     @NotNull
     private TimesheetStatus status = TimesheetStatus.PENDING;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "approved_by")
     private User approvedBy;
@@ -50,6 +74,10 @@ public class Timesheet {
     @Column(length = 500)
     private String comments;
 
+    // Bumped by every write, including the guarded status updates in the repository.
+    @Version
+    private Long version;
+
     public enum TimesheetStatus {
         PENDING,
         APPROVED,
@@ -0,0 +1,61 @@
+package com.ems.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated timesheet minutes per dimension, period and status. Rows are maintained
+ * incrementally by {@link com.ems.rollup.TimesheetRollupWriter}; the entity is read-only.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "timesheet_rollups", indexes = {
+    @Index(name = "idx_timesheet_rollups_key_period",
+           columnList = "dimension, organization_id, rollup_key, status, period_start")
+})
+public class TimesheetRollup {
+    @EmbeddedId
+    private Key id;
+
+    private long minutes;
+
+    private long entryCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+        @Enumerated(EnumType.STRING)
+        @Column(length = 32)
+        private Dimension dimension;
+
+        // 0 when the employee has no organization
+        private Long organizationId;
+
+        // User id, department id or project name, depending on the dimension
+        @Column(length = 500)
+        private String rollupKey;
+
+        private LocalDate periodStart;
+
+        @Enumerated(EnumType.STRING)
+        private Timesheet.TimesheetStatus status;
+    }
+
+    public enum Dimension {
+        USER_DAY,
+        USER_WEEK,
+        DEPARTMENT_WEEK,
+        DEPARTMENT_MONTH,
+        PROJECT_MONTH
+    }
+}
@@ -0,0 +1,44 @@
+package com.ems.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+public class BulkTransitionResult {
+    private Map<Long, Outcome> outcomes = new LinkedHashMap<>();
+
+    public static BulkTransitionResult of(Collection<Long> requestedIds, Collection<Long> appliedIds,
+                                          Collection<Long> existingIds) {
+        BulkTransitionResult result = new BulkTransitionResult();
+        for (Long id : requestedIds) {
+            if (appliedIds.contains(id)) {
+                result.outcomes.put(id, Outcome.APPLIED);
+            } else if (existingIds.contains(id)) {
+                result.outcomes.put(id, Outcome.NOT_PENDING);
+            } else {
+                result.outcomes.put(id, Outcome.NOT_FOUND);
+            }
+        }
+        return result;
+    }
+
+    public List<Long> idsWithOutcome(Outcome outcome) {
+        return outcomes.entrySet().stream()
+                .filter(entry -> entry.getValue() == outcome)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    public enum Outcome {
+        APPLIED,
+        NOT_PENDING,
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,11 @@
+package com.ems.dto;
+
+public record DepartmentHours(
+        Long departmentId,
+        Long minutes,
+        Long entryCount
+) {
+    public double hours() {
+        return minutes / 60.0;
+    }
+}
@@ -0,0 +1,4 @@
+package com.ems.dto;
+
+public record DepartmentManager(Long departmentId, Long managerId) {
+}
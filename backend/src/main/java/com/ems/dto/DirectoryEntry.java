@@ -0,0 +1,17 @@
+package com.ems.dto;
+
+public record DirectoryEntry(
+        Long userId,
+        Long organizationId,
+        String firstName,
+        String lastName,
+        String email,
+        String position,
+        Long departmentId,
+        String departmentName
+) {
+    public DirectoryEntry withDepartment(Long newDepartmentId, String newDepartmentName) {
+        return new DirectoryEntry(userId, organizationId, firstName, lastName, email, position,
+                newDepartmentId, newDepartmentName);
+    }
+}
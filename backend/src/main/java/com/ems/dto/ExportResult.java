@@ -0,0 +1,14 @@
+package com.ems.dto;
+
+import java.time.Duration;
+
+public record ExportResult(
+        String dataset,
+        long rows,
+        Duration elapsed
+) {
+    public double rowsPerSecond() {
+        long millis = Math.max(1, elapsed.toMillis());
+        return rows * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ems.dto;
+
+import com.ems.domain.Leave;
+
+import java.time.LocalDate;
+
+public record LeaveEventPayload(
+        Long leaveId,
+        Long userId,
+        Long departmentId,
+        LocalDate startDate,
+        LocalDate endDate,
+        Leave.LeaveType type,
+        Leave.LeaveStatus status,
+        Long approverId,
+        String comments
+) {
+    public static LeaveEventPayload of(Leave leave) {
+        return new LeaveEventPayload(
+                leave.getId(),
+                leave.getUser().getId(),
+                leave.getDepartmentId(),
+                leave.getStartDate(),
+                leave.getEndDate(),
+                leave.getType(),
+                leave.getStatus(),
+                leave.getApprovedBy() != null ? leave.getApprovedBy().getId() : null,
+                leave.getComments());
+    }
+
+    public LeaveEventPayload transitioned(Leave.LeaveStatus newStatus, Long newApproverId, String newComments) {
+        return new LeaveEventPayload(leaveId, userId, departmentId, startDate, endDate, type,
+                newStatus, newApproverId, newComments);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ems.dto;
+
+import com.ems.domain.Leave;
+
+import java.time.LocalDate;
+
+public record LeaveInterval(
+        Long leaveId,
+        Long userId,
+        Long departmentId,
+        LocalDate startDate,
+        LocalDate endDate,
+        Leave.LeaveStatus status
+) {
+    public static LeaveInterval of(Leave leave) {
+        return new LeaveInterval(
+                leave.getId(),
+                leave.getUser().getId(),
+                leave.getDepartmentId(),
+                leave.getStartDate(),
+                leave.getEndDate(),
+                leave.getStatus());
+    }
+
+    public LeaveInterval withStatus(Leave.LeaveStatus newStatus) {
+        return new LeaveInterval(leaveId, userId, departmentId, startDate, endDate, newStatus);
+    }
+
+    public LeaveInterval withDepartmentId(Long newDepartmentId) {
+        return new LeaveInterval(leaveId, userId, newDepartmentId, startDate, endDate, status);
+    }
+
+    public boolean isOpen(LocalDate today) {
+        return status == Leave.LeaveStatus.PENDING || !endDate.isBefore(today);
+    }
+
+    public boolean overlaps(LocalDate from, LocalDate to) {
+        return !startDate.isAfter(to) && !endDate.isBefore(from);
+    }
+}
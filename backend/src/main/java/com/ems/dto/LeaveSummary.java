@@ -0,0 +1,16 @@
+package com.ems.dto;
+
+import com.ems.domain.Leave;
+
+import java.time.LocalDate;
+
+public record LeaveSummary(
+        Long id,
+        LocalDate startDate,
+        LocalDate endDate,
+        Leave.LeaveType type,
+        Leave.LeaveStatus status,
+        String employeeName,
+        String approverName
+) {
+}
@@ -0,0 +1,4 @@
+package com.ems.dto;
+
+public record ProjectUsage(Long organizationId, String project, long count) {
+}
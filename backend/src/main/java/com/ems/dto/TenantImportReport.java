@@ -0,0 +1,20 @@
+package com.ems.dto;
+
+import java.time.Duration;
+import java.util.List;
+
+public record TenantImportReport(
+        String importId,
+        Long organizationId,
+        long departmentsCreated,
+        long usersCreated,
+        long rejectedRows,
+        List<String> rejections,
+        long rowsProcessed,
+        Duration elapsed
+) {
+    public double rowsPerSecond() {
+        long millis = Math.max(1, elapsed.toMillis());
+        return rowsProcessed * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ems.dto;
+
+import com.ems.domain.Timesheet;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record TimesheetEventPayload(
+        Long timesheetId,
+        Long userId,
+        Long departmentId,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        String project,
+        Timesheet.TimesheetStatus status,
+        Long approverId,
+        String comments
+) {
+    public static TimesheetEventPayload of(Timesheet timesheet) {
+        return new TimesheetEventPayload(
+                timesheet.getId(),
+                timesheet.getUser().getId(),
+                timesheet.getDepartmentId(),
+                timesheet.getDate(),
+                timesheet.getStartTime(),
+                timesheet.getEndTime(),
+                timesheet.getProject(),
+                timesheet.getStatus(),
+                timesheet.getApprovedBy() != null ? timesheet.getApprovedBy().getId() : null,
+                timesheet.getComments());
+    }
+
+    public TimesheetEventPayload transitioned(Timesheet.TimesheetStatus newStatus, Long newApproverId,
+                                              String newComments) {
+        return new TimesheetEventPayload(timesheetId, userId, departmentId, date, startTime, endTime, project,
+                newStatus, newApproverId, newComments);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ems.dto;
+
+import com.ems.domain.Timesheet;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record TimesheetSummary(
+        Long id,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        String project,
+        Timesheet.TimesheetStatus status,
+        String employeeName,
+        String approverName
+) {
+}
@@ -0,0 +1,4 @@
+package com.ems.dto;
+
+public record UserPlacement(Long userId, Long organizationId, Long departmentId) {
+}
@@ -0,0 +1,50 @@
+package com.ems.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+class CsvRowWriter implements ExportRowWriter {
+    private final Writer out;
+
+    CsvRowWriter(Writer out, List<String> columns) throws IOException {
+        this.out = out;
+        writeRow(columns.toArray());
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                writeField(values[i]);
+            }
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    private void writeField(Object value) throws IOException {
+        String text = value.toString();
+        // Free text starting with a formula character is neutralised so spreadsheets
+        // opening the payroll file never evaluate it.
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
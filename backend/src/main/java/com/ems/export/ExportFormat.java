@@ -0,0 +1,35 @@
+package com.ems.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public ExportRowWriter newWriter(Writer out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvRowWriter(out, columns);
+            case NDJSON -> new NdjsonRowWriter(out, columns, objectMapper);
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.ems.export;
+
+import java.io.IOException;
+
+/**
+ * Writes one row at a time straight to the response; nothing is buffered beyond the
+ * underlying writer, so memory use does not depend on the number of rows.
+ */
+public interface ExportRowWriter {
+    void writeRow(Object... values) throws IOException;
+
+    void finish() throws IOException;
+}
@@ -0,0 +1,39 @@
+package com.ems.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+class NdjsonRowWriter implements ExportRowWriter {
+    private final JsonGenerator generator;
+    private final List<String> columns;
+
+    NdjsonRowWriter(Writer out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.setRootValueSeparator(null);
+        this.columns = columns;
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(columns.get(i));
+            if (values[i] instanceof Number || values[i] instanceof Boolean || values[i] == null) {
+                generator.writeObject(values[i]);
+            } else {
+                generator.writeString(values[i].toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
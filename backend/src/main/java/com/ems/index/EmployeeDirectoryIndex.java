@@ -0,0 +1,251 @@
+package com.ems.index;
+
+import com.ems.dto.DirectoryEntry;
+import com.ems.repository.UserRepository;
+import com.ems.support.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Per-organization employee directory for colleague lookups. Names, email, position and
+ * department are split into normalized tokens, kept as a sorted array with a sorted array
+ * of user ids per token, so a prefix is a binary search and a multi-word query is a merge
+ * of id arrays. An organization's directory is immutable: once the transaction that changed
+ * one of its entries has committed, a replacement is built from a copy and swapped in, so
+ * searches never wait on a rebuild and other organizations are not held up by it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeDirectoryIndex implements SmartInitializingSingleton {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<DirectoryEntry> BY_NAME = Comparator
+            .comparing(DirectoryEntry::lastName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(DirectoryEntry::firstName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(DirectoryEntry::userId);
+
+    private final UserRepository userRepository;
+
+    // Updates share this lock and a reload takes it exclusively, so no update is lost to a
+    // reload that read its snapshot before the update committed. Searches never take it.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Map<Long, Directory> byOrganization = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        List<DirectoryEntry> entries;
+        Map<Long, Directory> loaded = new ConcurrentHashMap<>();
+        lock.writeLock().lock();
+        try {
+            entries = userRepository.findDirectoryEntries();
+            Map<Long, Map<Long, DirectoryEntry>> entriesByOrganization = new HashMap<>();
+            for (DirectoryEntry entry : entries) {
+                entriesByOrganization.computeIfAbsent(entry.organizationId(), id -> new HashMap<>())
+                        .put(entry.userId(), entry);
+            }
+            entriesByOrganization.forEach((organizationId, organizationEntries) ->
+                    loaded.put(organizationId, new Directory(organizationEntries)));
+            byOrganization = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} directory entries for {} organizations", entries.size(), loaded.size());
+    }
+
+    /**
+     * Entries whose tokens start with every word of the query, ordered by last and first name.
+     */
+    public List<DirectoryEntry> search(Long organizationId, String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        Directory directory = byOrganization.get(organizationId);
+        if (directory == null) {
+            return List.of();
+        }
+        long[] userIds = null;
+        for (String word : words) {
+            long[] matches = directory.withPrefix(word);
+            userIds = userIds == null ? matches : intersect(userIds, matches);
+            if (userIds.length == 0) {
+                return List.of();
+            }
+        }
+        List<DirectoryEntry> result = new ArrayList<>(userIds.length);
+        for (long userId : userIds) {
+            result.add(directory.entries.get(userId));
+        }
+        result.sort(BY_NAME);
+        return result.size() > limit ? List.copyOf(result.subList(0, limit)) : result;
+    }
+
+    public void put(Collection<DirectoryEntry> entries) {
+        Map<Long, List<DirectoryEntry>> byOrganizationId = entries.stream()
+                .collect(Collectors.groupingBy(DirectoryEntry::organizationId));
+        TransactionCallbacks.afterCommit(() -> byOrganizationId.forEach((organizationId, added) ->
+                update(organizationId, directoryEntries -> {
+                    added.forEach(entry -> directoryEntries.put(entry.userId(), entry));
+                    return true;
+                })));
+    }
+
+    public void placeEmployee(Long organizationId, Long userId, Long departmentId, String departmentName) {
+        TransactionCallbacks.afterCommit(() -> update(organizationId, directoryEntries -> {
+            DirectoryEntry entry = directoryEntries.get(userId);
+            if (entry == null) {
+                return false;
+            }
+            directoryEntries.put(userId, entry.withDepartment(departmentId, departmentName));
+            return true;
+        }));
+    }
+
+    public void renameDepartment(Long organizationId, Long departmentId, String departmentName) {
+        TransactionCallbacks.afterCommit(() -> update(organizationId, directoryEntries -> {
+            boolean renamed = false;
+            for (DirectoryEntry entry : directoryEntries.values()) {
+                if (departmentId.equals(entry.departmentId()) && !departmentName.equals(entry.departmentName())) {
+                    directoryEntries.put(entry.userId(), entry.withDepartment(departmentId, departmentName));
+                    renamed = true;
+                }
+            }
+            return renamed;
+        }));
+    }
+
+    // The mutation edits a copy of the entries and reports whether it changed anything; only
+    // then is a replacement built. If another update swapped the directory in the meantime,
+    // the mutation is replayed on the newer entries.
+    private void update(Long organizationId, Predicate<Map<Long, DirectoryEntry>> mutation) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Directory> directories = byOrganization;
+            while (true) {
+                Directory current = directories.get(organizationId);
+                Map<Long, DirectoryEntry> entries = current != null ? new HashMap<>(current.entries) : new HashMap<>();
+                if (!mutation.test(entries)) {
+                    return;
+                }
+                Directory replacement = new Directory(entries);
+                boolean swapped = current != null
+                        ? directories.replace(organizationId, current, replacement)
+                        : directories.putIfAbsent(organizationId, replacement) == null;
+                if (swapped) {
+                    return;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static String localPart(String email) {
+        int at = email != null ? email.indexOf('@') : -1;
+        return at >= 0 ? email.substring(0, at) : email;
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static final class Directory {
+        private final Map<Long, DirectoryEntry> entries;
+        private final String[] tokens;
+        private final long[][] postings;
+
+        Directory(Map<Long, DirectoryEntry> entries) {
+            this.entries = entries;
+            TreeMap<String, List<Long>> userIdsByToken = new TreeMap<>();
+            for (DirectoryEntry entry : entries.values()) {
+                Set<String> entryTokens = new HashSet<>();
+                entryTokens.addAll(tokenize(entry.firstName()));
+                entryTokens.addAll(tokenize(entry.lastName()));
+                // The domain is shared by most of an organization, so only the local part is indexed.
+                entryTokens.addAll(tokenize(localPart(entry.email())));
+                entryTokens.addAll(tokenize(entry.position()));
+                entryTokens.addAll(tokenize(entry.departmentName()));
+                for (String token : entryTokens) {
+                    userIdsByToken.computeIfAbsent(token, t -> new ArrayList<>()).add(entry.userId());
+                }
+            }
+            String[] newTokens = new String[userIdsByToken.size()];
+            long[][] newPostings = new long[userIdsByToken.size()][];
+            int i = 0;
+            for (Map.Entry<String, List<Long>> token : userIdsByToken.entrySet()) {
+                newTokens[i] = token.getKey();
+                newPostings[i] = token.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+                i++;
+            }
+            this.tokens = newTokens;
+            this.postings = newPostings;
+        }
+
+        // Tokens sharing a prefix are contiguous in the sorted array; their id arrays are merged.
+        long[] withPrefix(String prefix) {
+            int from = Arrays.binarySearch(tokens, prefix);
+            if (from < 0) {
+                from = -from - 1;
+            }
+            int to = from;
+            while (to < tokens.length && tokens[to].startsWith(prefix)) {
+                to++;
+            }
+            if (to - from == 1) {
+                return postings[from];
+            }
+            return Arrays.stream(postings, from, to).flatMapToLong(Arrays::stream).sorted().distinct().toArray();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.ems.index;
+
+import com.ems.domain.Leave;
+import com.ems.dto.LeaveInterval;
+import com.ems.repository.LeaveRepository;
+import com.ems.support.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the leaves that still block a calendar (PENDING and APPROVED),
+ * bucketed per user and per department. Mutations coming from a transaction are
+ * applied only after it commits, so a rolled-back request never leaks into the index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaveIntervalIndex implements SmartInitializingSingleton {
+    public static final Set<Leave.LeaveStatus> ACTIVE_STATUSES =
+            EnumSet.of(Leave.LeaveStatus.PENDING, Leave.LeaveStatus.APPROVED);
+
+    private final LeaveRepository leaveRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LeaveInterval> byLeaveId = new HashMap<>();
+    private final Map<Long, SortedIntervals> byUser = new HashMap<>();
+    private final Map<Long, SortedIntervals> byDepartment = new HashMap<>();
+
+    // Runs before the web server starts, so no request ever sees an empty index.
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    // Reads under the write lock so a commit landing mid-load is not wiped by the clear.
+    public void load() {
+        List<LeaveInterval> intervals;
+        lock.writeLock().lock();
+        try {
+            intervals = leaveRepository.findIntervalsByStatusIn(ACTIVE_STATUSES);
+            byLeaveId.clear();
+            byUser.clear();
+            byDepartment.clear();
+            intervals.forEach(this::insert);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} active leave intervals", intervals.size());
+    }
+
+    public boolean hasOverlap(Long userId, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            SortedIntervals intervals = byUser.get(userId);
+            return intervals != null && !intervals.overlapping(startDate, endDate).isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<LeaveInterval> findByDepartment(Long departmentId, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            SortedIntervals intervals = byDepartment.get(departmentId);
+            return intervals != null ? intervals.overlapping(from, to) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Leave leave) {
+        LeaveInterval interval = LeaveInterval.of(leave);
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(interval.leaveId());
+                if (ACTIVE_STATUSES.contains(interval.status())) {
+                    insert(interval);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void updateStatus(Collection<Long> leaveIds, Leave.LeaveStatus status) {
+        List<Long> ids = List.copyOf(leaveIds);
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (Long id : ids) {
+                    LeaveInterval existing = delete(id);
+                    if (existing != null && ACTIVE_STATUSES.contains(status)) {
+                        insert(existing.withStatus(status));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void evict(Long leaveId) {
+        updateStatus(List.of(leaveId), Leave.LeaveStatus.CANCELLED);
+    }
+
+    // Mirrors LeaveRepository.reassignOpenLeaves: only open leaves follow the user.
+    public void reassignUser(Long userId, Long departmentId) {
+        LocalDate today = LocalDate.now();
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                SortedIntervals intervals = byUser.get(userId);
+                if (intervals == null) {
+                    return;
+                }
+                for (LeaveInterval interval : intervals.all()) {
+                    if (!interval.isOpen(today)) {
+                        continue;
+                    }
+                    delete(interval.leaveId());
+                    insert(interval.withDepartmentId(departmentId));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void insert(LeaveInterval interval) {
+        byLeaveId.put(interval.leaveId(), interval);
+        byUser.computeIfAbsent(interval.userId(), id -> new SortedIntervals()).add(interval);
+        if (interval.departmentId() != null) {
+            byDepartment.computeIfAbsent(interval.departmentId(), id -> new SortedIntervals()).add(interval);
+        }
+    }
+
+    private LeaveInterval delete(Long leaveId) {
+        LeaveInterval existing = byLeaveId.remove(leaveId);
+        if (existing != null) {
+            removeFrom(byUser, existing.userId(), existing);
+            if (existing.departmentId() != null) {
+                removeFrom(byDepartment, existing.departmentId(), existing);
+            }
+        }
+        return existing;
+    }
+
+    private static void removeFrom(Map<Long, SortedIntervals> buckets, Long key, LeaveInterval interval) {
+        SortedIntervals intervals = buckets.get(key);
+        if (intervals != null && intervals.remove(interval)) {
+            buckets.remove(key);
+        }
+    }
+
+    /**
+     * Intervals ordered by start date. Tracking the longest interval seen bounds the
+     * range of start dates that can still reach a query window, which turns the overlap
+     * search into a single sorted range scan instead of a full pass.
+     */
+    private static final class SortedIntervals {
+        private final TreeMap<LocalDate, List<LeaveInterval>> byStart = new TreeMap<>();
+        private long maxSpanDays;
+
+        void add(LeaveInterval interval) {
+            byStart.computeIfAbsent(interval.startDate(), date -> new ArrayList<>(1)).add(interval);
+            maxSpanDays = Math.max(maxSpanDays, ChronoUnit.DAYS.between(interval.startDate(), interval.endDate()));
+        }
+
+        boolean remove(LeaveInterval interval) {
+            List<LeaveInterval> sameStart = byStart.get(interval.startDate());
+            if (sameStart != null) {
+                sameStart.removeIf(candidate -> candidate.leaveId().equals(interval.leaveId()));
+                if (sameStart.isEmpty()) {
+                    byStart.remove(interval.startDate());
+                }
+            }
+            return byStart.isEmpty();
+        }
+
+        List<LeaveInterval> overlapping(LocalDate from, LocalDate to) {
+            if (to.isBefore(from)) {
+                return List.of();
+            }
+            List<LeaveInterval> result = new ArrayList<>();
+            byStart.subMap(from.minusDays(maxSpanDays), true, to, true).values().forEach(intervals -> {
+                for (LeaveInterval interval : intervals) {
+                    if (interval.overlaps(from, to)) {
+                        result.add(interval);
+                    }
+                }
+            });
+            return result;
+        }
+
+        List<LeaveInterval> all() {
+            List<LeaveInterval> result = new ArrayList<>();
+            byStart.values().forEach(result::addAll);
+            return result;
+        }
+    }
+}
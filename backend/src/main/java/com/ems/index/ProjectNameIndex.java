@@ -0,0 +1,132 @@
+package com.ems.index;
+
+import com.ems.domain.Timesheet;
+import com.ems.dto.ProjectUsage;
+import com.ems.repository.TimesheetRepository;
+import com.ems.support.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Distinct project names per organization, sorted case-insensitively, for typeahead.
+ * A prefix lookup is a sorted range scan over the names sharing that prefix. Each name
+ * counts the timesheets that use it and disappears with the last one; changes are
+ * applied once their transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectNameIndex implements SmartInitializingSingleton {
+    private final TimesheetRepository timesheetRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, NavigableMap<String, ProjectName>> byOrganization = new HashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        List<ProjectUsage> usages;
+        lock.writeLock().lock();
+        try {
+            usages = timesheetRepository.findProjectUsages();
+            byOrganization.clear();
+            usages.forEach(usage -> adjust(usage.organizationId(), usage.project(), usage.count()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} project names", usages.size());
+    }
+
+    public List<String> suggest(Long organizationId, String prefix, int limit) {
+        String from = key(prefix);
+        lock.readLock().lock();
+        try {
+            NavigableMap<String, ProjectName> names = byOrganization.get(organizationId);
+            if (names == null) {
+                return List.of();
+            }
+            List<String> result = new ArrayList<>(limit);
+            for (ProjectName name : names.tailMap(from, true).values()) {
+                if (result.size() == limit || !name.key.startsWith(from)) {
+                    break;
+                }
+                result.add(name.display);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(Collection<Timesheet> timesheets) {
+        apply(timesheets.stream().map(timesheet -> usage(timesheet, 1)).collect(Collectors.toList()));
+    }
+
+    public void remove(Collection<Timesheet> timesheets) {
+        apply(timesheets.stream().map(timesheet -> usage(timesheet, -1)).collect(Collectors.toList()));
+    }
+
+    public void apply(Collection<ProjectUsage> deltas) {
+        List<ProjectUsage> copy = List.copyOf(deltas);
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                copy.forEach(delta -> adjust(delta.organizationId(), delta.project(), delta.count()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void adjust(Long organizationId, String project, long delta) {
+        if (project == null || project.isBlank()) {
+            return;
+        }
+        String key = key(project);
+        NavigableMap<String, ProjectName> names = byOrganization.computeIfAbsent(organizationId, id -> new TreeMap<>());
+        ProjectName name = names.computeIfAbsent(key, k -> new ProjectName(k, project.strip()));
+        name.timesheets += delta;
+        if (name.timesheets <= 0) {
+            names.remove(key);
+            if (names.isEmpty()) {
+                byOrganization.remove(organizationId);
+            }
+        }
+    }
+
+    private static ProjectUsage usage(Timesheet timesheet, long delta) {
+        return new ProjectUsage(timesheet.getOrganizationId(), timesheet.getProject(), delta);
+    }
+
+    private static String key(String project) {
+        return project.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class ProjectName {
+        private final String key;
+        private final String display;
+        private long timesheets;
+
+        ProjectName(String key, String display) {
+            this.key = key;
+            this.display = display;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.ems.index;
+
+import com.ems.dto.DepartmentManager;
+import com.ems.dto.UserPlacement;
+import com.ems.repository.DepartmentRepository;
+import com.ems.repository.UserRepository;
+import com.ems.support.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory reporting lines: manager to managed departments to employees. A manager's
+ * skip-level reports are the reports of every manager found among their own reports, so
+ * both directions are walks over adjacency sets that cost O(reports) rather than a query
+ * per level. Like {@link LeaveIntervalIndex}, changes are applied once their transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportingLineIndex implements SmartInitializingSingleton {
+    private final DepartmentRepository departmentRepository;
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> managerByDepartment = new HashMap<>();
+    private final Map<Long, Set<Long>> departmentsByManager = new HashMap<>();
+    private final Map<Long, Long> departmentByEmployee = new HashMap<>();
+    private final Map<Long, Set<Long>> employeesByDepartment = new HashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        List<DepartmentManager> managers;
+        List<UserPlacement> placements;
+        lock.writeLock().lock();
+        try {
+            managers = departmentRepository.findDepartmentManagers();
+            placements = userRepository.findPlacementsWithDepartment();
+            managerByDepartment.clear();
+            departmentsByManager.clear();
+            departmentByEmployee.clear();
+            employeesByDepartment.clear();
+            managers.forEach(line -> setManager(line.departmentId(), line.managerId()));
+            placements.forEach(placement -> setDepartment(placement.userId(), placement.departmentId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded reporting lines for {} departments and {} employees", managers.size(), placements.size());
+    }
+
+    public Set<Long> departmentsManagedBy(Long managerId, boolean transitive) {
+        lock.readLock().lock();
+        try {
+            Set<Long> departments = new LinkedHashSet<>();
+            walkReports(managerId, transitive, departments, null);
+            return departments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<Long> reportsOf(Long managerId, boolean transitive) {
+        lock.readLock().lock();
+        try {
+            Set<Long> reports = new LinkedHashSet<>();
+            walkReports(managerId, transitive, new HashSet<>(), reports);
+            return reports;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Direct manager first, then each skip level up to the top of the chain.
+    public List<Long> approversOf(Long employeeId) {
+        lock.readLock().lock();
+        try {
+            List<Long> approvers = new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            seen.add(employeeId);
+            Long current = employeeId;
+            while (true) {
+                Long departmentId = departmentByEmployee.get(current);
+                Long manager = departmentId != null ? managerByDepartment.get(departmentId) : null;
+                if (manager == null || !seen.add(manager)) {
+                    return approvers;
+                }
+                approvers.add(manager);
+                current = manager;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean canApprove(Long managerId, Long employeeId) {
+        return !managerId.equals(employeeId) && approversOf(employeeId).contains(managerId);
+    }
+
+    public void assignManager(Long departmentId, Long managerId) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                setManager(departmentId, managerId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void placeEmployee(Long employeeId, Long departmentId) {
+        placeEmployees(List.of(new UserPlacement(employeeId, null, departmentId)));
+    }
+
+    public void placeEmployees(Collection<UserPlacement> placements) {
+        List<UserPlacement> copy = List.copyOf(placements);
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                copy.forEach(placement -> setDepartment(placement.userId(), placement.departmentId()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void removeDepartment(Long departmentId) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                setManager(departmentId, null);
+                Set<Long> employees = employeesByDepartment.remove(departmentId);
+                if (employees != null) {
+                    employees.forEach(departmentByEmployee::remove);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Breadth-first over managed departments; the seen set makes cyclic lines terminate.
+    private void walkReports(Long managerId, boolean transitive, Set<Long> departments, Set<Long> reports) {
+        Deque<Long> managers = new ArrayDeque<>();
+        Set<Long> seenManagers = new HashSet<>();
+        managers.add(managerId);
+        seenManagers.add(managerId);
+        while (!managers.isEmpty()) {
+            Long manager = managers.poll();
+            for (Long departmentId : departmentsByManager.getOrDefault(manager, Set.of())) {
+                if (!departments.add(departmentId)) {
+                    continue;
+                }
+                for (Long employeeId : employeesByDepartment.getOrDefault(departmentId, Set.of())) {
+                    if (employeeId.equals(managerId)) {
+                        continue;
+                    }
+                    if (reports != null) {
+                        reports.add(employeeId);
+                    }
+                    if (transitive && departmentsByManager.containsKey(employeeId) && seenManagers.add(employeeId)) {
+                        managers.add(employeeId);
+                    }
+                }
+            }
+        }
+    }
+
+    private void setManager(Long departmentId, Long managerId) {
+        Long previous = managerId != null
+                ? managerByDepartment.put(departmentId, managerId)
+                : managerByDepartment.remove(departmentId);
+        if (previous != null) {
+            removeFrom(departmentsByManager, previous, departmentId);
+        }
+        if (managerId != null) {
+            departmentsByManager.computeIfAbsent(managerId, id -> new HashSet<>()).add(departmentId);
+        }
+    }
+
+    private void setDepartment(Long employeeId, Long departmentId) {
+        Long previous = departmentId != null
+                ? departmentByEmployee.put(employeeId, departmentId)
+                : departmentByEmployee.remove(employeeId);
+        if (previous != null) {
+            removeFrom(employeesByDepartment, previous, employeeId);
+        }
+        if (departmentId != null) {
+            employeesByDepartment.computeIfAbsent(departmentId, id -> new HashSet<>()).add(employeeId);
+        }
+    }
+
+    private static void removeFrom(Map<Long, Set<Long>> buckets, Long key, Long value) {
+        Set<Long> values = buckets.get(key);
+        if (values != null && values.remove(value) && values.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+}
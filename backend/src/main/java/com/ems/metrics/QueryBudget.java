@@ -0,0 +1,88 @@
+package com.ems.metrics;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Counts the JDBC statements Hibernate issues on the current thread, and the time spent
+ * executing them, between {@link #open()} and {@link Scope#close()}. Scopes nest: the
+ * statements of an inner scope also count towards the enclosing one.
+ *
+ * <pre>
+ * departmentService.getDepartmentsByOrganizationId(id);    // warm-up
+ * QueryBudget.expectStatements(1, () -> departmentService.getDepartmentsByOrganizationId(id));
+ * </pre>
+ */
+public final class QueryBudget {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryBudget() {
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static <T> Measured<T> measure(Supplier<T> action) {
+        try (Scope scope = open()) {
+            T result = action.get();
+            return new Measured<>(result, scope.statements(), scope.jdbcTime());
+        }
+    }
+
+    public static <T> T expectStatements(int expected, Supplier<T> action) {
+        Measured<T> measured = measure(action);
+        if (measured.statements() != expected) {
+            throw new QueryBudgetViolationException(
+                    "Expected " + expected + " statement(s) but " + measured.statements() + " were issued");
+        }
+        return measured.result();
+    }
+
+    static void recordStatement(long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.jdbcNanos += nanos;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private int statements;
+        private long jdbcNanos;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public Duration jdbcTime() {
+            return Duration.ofNanos(jdbcNanos);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (CURRENT.get() != this) {
+                throw new IllegalStateException("Query budget scopes must be closed in reverse order of opening");
+            }
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public record Measured<T>(T result, int statements, Duration jdbcTime) {
+    }
+}
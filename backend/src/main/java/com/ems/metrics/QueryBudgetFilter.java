@@ -0,0 +1,81 @@
+package com.ems.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link QueryBudget} scope around each API request, records the statement count
+ * and JDBC time, and logs or fails the request when it issues more statements than the
+ * configured budget. FAIL is meant for development and test environments, where an N+1
+ * regression should break the build rather than show up in a dashboard.
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public enum Mode {
+        OFF, LOG, FAIL
+    }
+
+    private final Mode mode;
+    private final int maxStatements;
+    private final DistributionSummary statements;
+    private final Timer jdbcTime;
+
+    public QueryBudgetFilter(Mode mode, int maxStatements, MeterRegistry meterRegistry) {
+        this.mode = mode;
+        this.maxStatements = maxStatements;
+        this.statements = DistributionSummary.builder("ems.request.statements")
+                .description("JDBC statements issued per HTTP request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.jdbcTime = Timer.builder("ems.request.jdbc.time")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return mode == Mode.OFF;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryBudget.Scope scope = QueryBudget.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            scope.close();
+            statements.record(scope.statements());
+            jdbcTime.record(scope.jdbcTime());
+            if (scope.statements() > maxStatements) {
+                overBudget(request, response, scope);
+            }
+        }
+    }
+
+    private void overBudget(HttpServletRequest request, HttpServletResponse response, QueryBudget.Scope scope)
+            throws IOException {
+        String message = String.format("%s %s issued %d statements (budget %d) in %d ms of JDBC time",
+                request.getMethod(), request.getRequestURI(), scope.statements(), maxStatements,
+                scope.jdbcTime().toMillis());
+        if (mode == Mode.LOG) {
+            log.warn(message);
+        } else if (response.isCommitted()) {
+            log.error("{}; response already committed", message);
+        } else {
+            log.error(message);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, message);
+        }
+    }
+}
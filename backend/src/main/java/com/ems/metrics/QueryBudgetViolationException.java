@@ -0,0 +1,7 @@
+package com.ems.metrics;
+
+public class QueryBudgetViolationException extends IllegalStateException {
+    public QueryBudgetViolationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ems.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Reports every statement and batch a Hibernate session executes to {@link QueryBudget}.
+ * Registered through hibernate.session.events.auto, so Hibernate creates one per session.
+ */
+public class QueryCountingSessionListener implements SessionEventListener {
+    private long statementStartedAt;
+    private long batchStartedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryBudget.recordStatement(System.nanoTime() - statementStartedAt);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        QueryBudget.recordStatement(System.nanoTime() - batchStartedAt);
+    }
+}
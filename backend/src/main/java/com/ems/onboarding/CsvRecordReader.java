@@ -0,0 +1,142 @@
+package com.ems.onboarding;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Minimal streaming RFC 4180 reader: one record is materialised at a time, quoted fields
+ * may contain separators, escaped quotes and line breaks. Columns are addressed by their
+ * header name, case-insensitively.
+ */
+public class CsvRecordReader implements Closeable {
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader in;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long recordNumber;
+
+    public CsvRecordReader(Reader in) throws IOException {
+        this.in = in instanceof BufferedReader ? in : new BufferedReader(in, 64 * 1024);
+        List<String> header = readFields();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input has no header row");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            if (i == 0 && !name.isEmpty() && name.charAt(0) == BYTE_ORDER_MARK) {
+                name = name.substring(1);
+            }
+            columns.put(name.trim().toLowerCase(Locale.ROOT), i);
+        }
+    }
+
+    public void requireColumns(String... names) {
+        for (String name : names) {
+            if (!columns.containsKey(name)) {
+                throw new IllegalArgumentException("CSV input is missing the '" + name + "' column");
+            }
+        }
+    }
+
+    public CsvRecord next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readFields();
+        } while (fields != null && fields.size() == 1 && fields.get(0).isBlank());
+        if (fields == null) {
+            return null;
+        }
+        recordNumber++;
+        return new CsvRecord(recordNumber, fields);
+    }
+
+    public void skip(long records) throws IOException {
+        for (long i = 0; i < records && next() != null; i++) {
+            // already imported by an earlier run
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private List<String> readFields() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field in record " + (recordNumber + 1));
+                }
+                if (c == '"') {
+                    int next = in.read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    public final class CsvRecord {
+        private final long number;
+        private final List<String> fields;
+
+        private CsvRecord(long number, List<String> fields) {
+            this.number = number;
+            this.fields = fields;
+        }
+
+        public long number() {
+            return number;
+        }
+
+        // Trimmed value of the column, or null when the column is absent or blank.
+        public String get(String column) {
+            String value = getUntrimmed(column);
+            if (value == null) {
+                return null;
+            }
+            value = value.trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        // Value of the column exactly as written, for fields such as passwords where surrounding
+        // whitespace is significant; null when the column is absent or empty.
+        public String getUntrimmed(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index);
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
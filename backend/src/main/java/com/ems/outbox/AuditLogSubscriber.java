@@ -0,0 +1,23 @@
+package com.ems.outbox;
+
+import com.ems.domain.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes every leave and timesheet state change to the audit log category.
+ */
+@Slf4j(topic = "com.ems.audit")
+@Component
+public class AuditLogSubscriber implements OutboxSubscriber {
+    @Override
+    public boolean supports(DomainEventType eventType) {
+        return true;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        log.info("{} aggregate={} organization={} payload={}",
+                event.getEventType(), event.getAggregateId(), event.getOrganizationId(), event.getPayload());
+    }
+}
@@ -0,0 +1,15 @@
+package com.ems.outbox;
+
+public enum DomainEventType {
+    LEAVE_REQUESTED,
+    LEAVE_UPDATED,
+    LEAVE_APPROVED,
+    LEAVE_REJECTED,
+    LEAVE_CANCELLED,
+    LEAVE_DELETED,
+    TIMESHEET_SUBMITTED,
+    TIMESHEET_UPDATED,
+    TIMESHEET_APPROVED,
+    TIMESHEET_REJECTED,
+    TIMESHEET_DELETED
+}
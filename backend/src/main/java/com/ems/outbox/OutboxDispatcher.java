@@ -0,0 +1,150 @@
+package com.ems.outbox;
+
+import com.ems.domain.OutboxEvent;
+import com.ems.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in batches and hands each event to every interested subscriber.
+ * A batch is claimed with row locks held for the whole pass; each subscriber call runs
+ * in its own transaction so one failing handler cannot roll back the others. An event is
+ * deleted only after all subscribers succeeded, otherwise it is retried with exponential
+ * backoff until it runs out of attempts and is parked as FAILED.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ems.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSubscriber> subscribers;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate deliveryTransaction;
+    private final Counter dispatched;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer deliveryLag;
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+
+    @Value("${ems.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${ems.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${ems.outbox.backoff-initial-ms:1000}")
+    private long backoffInitialMillis;
+
+    @Value("${ems.outbox.backoff-max-ms:300000}")
+    private long backoffMaxMillis;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            ObjectProvider<OutboxSubscriber> subscribers,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers.orderedStream().toList();
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.deliveryTransaction = new TransactionTemplate(transactionManager);
+        this.deliveryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.dispatched = Counter.builder("ems.outbox.dispatched")
+                .description("Outbox events delivered to all subscribers")
+                .register(meterRegistry);
+        this.retried = Counter.builder("ems.outbox.retried")
+                .description("Outbox deliveries that failed and were rescheduled")
+                .register(meterRegistry);
+        this.failed = Counter.builder("ems.outbox.failed")
+                .description("Outbox events parked after exhausting their attempts")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("ems.outbox.delivery.lag")
+                .description("Time from an event being recorded to its delivery")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        TimeGauge.builder("ems.outbox.lag", oldestPendingAgeMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox event")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ems.outbox.poll-interval-ms:500}")
+    public void poll() {
+        Integer claimed;
+        do {
+            claimed = batchTransaction.execute(status -> dispatchBatch());
+        } while (claimed != null && claimed == batchSize);
+        oldestPendingAgeMillis.set(outboxEventRepository.findFirstByStatusOrderByIdAsc(OutboxEvent.Status.PENDING)
+                .map(event -> Math.max(0, Duration.between(event.getCreatedAt(), Instant.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    private int dispatchBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> batch = outboxEventRepository.claimBatch(now, batchSize);
+        for (OutboxEvent event : batch) {
+            try {
+                deliver(event);
+                outboxEventRepository.delete(event);
+                dispatched.increment();
+                deliveryLag.record(Duration.between(event.getCreatedAt(), Instant.now()));
+            } catch (RuntimeException e) {
+                reschedule(event, e, now);
+            }
+        }
+        return batch.size();
+    }
+
+    private void deliver(OutboxEvent event) {
+        for (OutboxSubscriber subscriber : subscribers) {
+            if (!subscriber.supports(event.getEventType())) {
+                continue;
+            }
+            deliveryTransaction.executeWithoutResult(status -> {
+                try {
+                    subscriber.handle(event);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+    }
+
+    private void reschedule(OutboxEvent event, RuntimeException error, Instant now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(truncate(String.valueOf(error.getMessage())));
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxEvent.Status.FAILED);
+            failed.increment();
+            log.error("Giving up on outbox event {} ({}) after {} attempts",
+                    event.getId(), event.getEventType(), attempts, error);
+            return;
+        }
+        long backoff = Math.min(backoffMaxMillis, backoffInitialMillis << Math.min(attempts - 1, 30));
+        event.setNextAttemptAt(now.plusMillis(backoff));
+        retried.increment();
+        log.warn("Outbox event {} ({}) failed, retrying in {} ms: {}",
+                event.getId(), event.getEventType(), backoff, error.getMessage());
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ems.outbox;
+
+import com.ems.domain.OutboxEvent;
+import com.ems.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Appends domain events to the outbox. Publishing requires an active transaction so an
+ * event is stored if and only if the change it describes commits; delivery happens later
+ * on the {@link OutboxDispatcher} thread and never adds to request latency.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEventType eventType, Long aggregateId, Long organizationId, Object payload) {
+        Instant now = Instant.now();
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setAggregateId(aggregateId);
+        event.setOrganizationId(organizationId);
+        event.setPayload(serialize(payload));
+        event.setCreatedAt(now);
+        event.setNextAttemptAt(now);
+        outboxEventRepository.save(event);
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload " + payload.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.ems.outbox;
+
+import com.ems.domain.OutboxEvent;
+
+/**
+ * In-process consumer of outbox events. Delivery is at-least-once: an event is
+ * redelivered to every subscriber when any of them fails, so handlers must be idempotent.
+ * Each call runs in its own transaction.
+ */
+public interface OutboxSubscriber {
+    boolean supports(DomainEventType eventType);
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -1,8 +1,14 @@
 package com.ems.repository;
 
+import com.ems.cache.ReferenceDataCache;
 import com.ems.domain.Department;
 import com.ems.domain.Organization;
+import com.ems.dto.DepartmentManager;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +16,14 @@ import java.util.List;
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     List<Department> findByOrganization(Organization organization);
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = ReferenceDataCache.DEPARTMENTS_BY_ORGANIZATION_REGION)
+    })
     List<Department> findByOrganizationId(Long organizationId);
     List<Department> findByManagerId(Long managerId);
     boolean existsByNameAndOrganizationId(String name, Long organizationId);
+
+    @Query("select new com.ems.dto.DepartmentManager(d.id, m.id) from Department d join d.manager m")
+    List<DepartmentManager> findDepartmentManagers();
 }
\ No newline at end of file
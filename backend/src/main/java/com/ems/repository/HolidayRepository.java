@@ -0,0 +1,15 @@
+package com.ems.repository;
+
+import com.ems.domain.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+    List<Holiday> findByOrganizationIdAndDateBetweenOrderByDate(Long organizationId, LocalDate from, LocalDate to);
+
+    boolean existsByOrganizationIdAndDate(Long organizationId, LocalDate date);
+}
@@ -0,0 +1,12 @@
+package com.ems.repository;
+
+import com.ems.domain.LeaveBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, LeaveBalance.Key> {
+    List<LeaveBalance> findByIdUserIdAndIdBalanceYearOrderByIdLeaveType(Long userId, int balanceYear);
+}
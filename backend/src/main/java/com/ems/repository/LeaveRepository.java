@@ -2,19 +2,104 @@ package com.ems.repository;
 
 import com.ems.domain.Leave;
 import com.ems.domain.User;
+import com.ems.dto.LeaveInterval;
+import com.ems.dto.LeaveSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface LeaveRepository extends JpaRepository<Leave, Long> {
+    String USER_AND_APPROVER = "Leave.userAndApprover";
+
+    @EntityGraph(USER_AND_APPROVER)
     List<Leave> findByUser(User user);
+
+    @EntityGraph(USER_AND_APPROVER)
     List<Leave> findByUserAndStartDateBetween(User user, LocalDate startDate, LocalDate endDate);
+
+    @EntityGraph(USER_AND_APPROVER)
     List<Leave> findByDepartmentIdAndStatus(Long departmentId, Leave.LeaveStatus status);
+
+    @EntityGraph(USER_AND_APPROVER)
     List<Leave> findByStatus(Leave.LeaveStatus status);
+
+    @EntityGraph(USER_AND_APPROVER)
+    List<Leave> findByStatusAndIdGreaterThanOrderByIdAsc(Leave.LeaveStatus status, Long afterId, Pageable pageable);
+
+    @EntityGraph(USER_AND_APPROVER)
+    List<Leave> findByUserAndIdGreaterThanOrderByIdAsc(User user, Long afterId, Pageable pageable);
+
+    @Query("select new com.ems.dto.LeaveSummary(l.id, l.startDate, l.endDate, l.type, l.status, "
+            + "concat(u.firstName, ' ', u.lastName), concat(a.firstName, ' ', a.lastName)) "
+            + "from Leave l join l.user u left join l.approvedBy a "
+            + "where l.status = :status and l.id > :afterId order by l.id")
+    List<LeaveSummary> findSummariesByStatus(@Param("status") Leave.LeaveStatus status,
+                                             @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.ems.dto.LeaveSummary(l.id, l.startDate, l.endDate, l.type, l.status, "
+            + "concat(u.firstName, ' ', u.lastName), concat(a.firstName, ' ', a.lastName)) "
+            + "from Leave l join l.user u left join l.approvedBy a "
+            + "where l.departmentId = :departmentId and l.status = :status and l.id > :afterId order by l.id")
+    List<LeaveSummary> findSummariesByDepartmentIdAndStatus(@Param("departmentId") Long departmentId,
+                                                            @Param("status") Leave.LeaveStatus status,
+                                                            @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.ems.dto.LeaveSummary(l.id, l.startDate, l.endDate, l.type, l.status, "
+            + "concat(u.firstName, ' ', u.lastName), concat(a.firstName, ' ', a.lastName)) "
+            + "from Leave l join l.user u left join l.approvedBy a "
+            + "where l.departmentId in :departmentIds and l.status = :status and u.id <> :approverId "
+            + "and l.id > :afterId order by l.id")
+    List<LeaveSummary> findApprovalQueue(@Param("departmentIds") Collection<Long> departmentIds,
+                                         @Param("approverId") Long approverId,
+                                         @Param("status") Leave.LeaveStatus status,
+                                         @Param("afterId") Long afterId, Pageable pageable);
+
     boolean existsByUserAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
         User user, LocalDate endDate, LocalDate startDate
     );
-}
\ No newline at end of file
+
+    List<Leave> findByIdInAndStatus(Collection<Long> ids, Leave.LeaveStatus status);
+
+    @Query("select l.id from Leave l where l.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Leave l set l.status = :newStatus, l.approvedBy = :approver, l.approvalDate = :approvalDate, "
+            + "l.comments = :comments, l.version = l.version + 1 where l.id in :ids and l.status = :expectedStatus")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("expectedStatus") Leave.LeaveStatus expectedStatus,
+                         @Param("newStatus") Leave.LeaveStatus newStatus,
+                         @Param("approver") User approver,
+                         @Param("approvalDate") LocalDate approvalDate,
+                         @Param("comments") String comments);
+
+    List<Leave> findByOrganizationIdAndStatusIn(Long organizationId, Collection<Leave.LeaveStatus> statuses);
+
+    List<Leave> findByOrganizationIdAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+            Long organizationId, Collection<Leave.LeaveStatus> statuses, LocalDate endDate, LocalDate startDate);
+
+    @Query("select new com.ems.dto.LeaveInterval(l.id, l.user.id, l.departmentId, l.startDate, l.endDate, l.status) "
+            + "from Leave l where l.status in :statuses")
+    List<LeaveInterval> findIntervalsByStatusIn(@Param("statuses") Collection<Leave.LeaveStatus> statuses);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Leave l set l.status = :cancelled, l.version = l.version + 1 "
+            + "where l.id = :id and l.status = :expectedStatus")
+    int cancel(@Param("id") Long id, @Param("expectedStatus") Leave.LeaveStatus expectedStatus,
+               @Param("cancelled") Leave.LeaveStatus cancelled);
+
+    @Modifying
+    @Query("update Leave l set l.departmentId = :departmentId, l.version = l.version + 1 "
+            + "where l.user.id = :userId and (l.status = :pending or l.endDate >= :today)")
+    int reassignOpenLeaves(@Param("userId") Long userId, @Param("departmentId") Long departmentId,
+                           @Param("pending") Leave.LeaveStatus pending, @Param("today") LocalDate today);
+}
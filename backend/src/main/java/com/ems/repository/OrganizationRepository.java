@@ -0,0 +1,25 @@
+package com.ems.repository;
+
+import com.ems.cache.ReferenceDataCache;
+import com.ems.domain.Organization;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrganizationRepository extends JpaRepository<Organization, Long> {
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = ReferenceDataCache.ORGANIZATIONS_BY_SUBDOMAIN_REGION)
+    })
+    Optional<Organization> findBySubdomain(String subdomain);
+
+    @Query("select o.id from Organization o order by o.id")
+    List<Long> findAllIds();
+}
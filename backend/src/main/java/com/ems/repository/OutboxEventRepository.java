@@ -0,0 +1,21 @@
+package com.ems.repository;
+
+import com.ems.domain.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // SKIP LOCKED lets several dispatchers drain the table without waiting on each other.
+    @Query(value = "select * from outbox_events where status = 'PENDING' and next_attempt_at <= :now "
+            + "order by id limit :limit for update skip locked", nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    Optional<OutboxEvent> findFirstByStatusOrderByIdAsc(OutboxEvent.Status status);
+}
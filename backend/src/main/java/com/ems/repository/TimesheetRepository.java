@@ -2,18 +2,132 @@ package com.ems.repository;
 
 import com.ems.domain.Timesheet;
 import com.ems.domain.User;
+import com.ems.dto.ProjectUsage;
+import com.ems.dto.TimesheetSummary;
+import com.ems.rollup.TimesheetRollupEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TimesheetRepository extends JpaRepository<Timesheet, Long> {
+    String USER_AND_APPROVER = "Timesheet.userAndApprover";
+
+    @EntityGraph(USER_AND_APPROVER)
     List<Timesheet> findByUser(User user);
+
+    @EntityGraph(USER_AND_APPROVER)
     List<Timesheet> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
+
+    @EntityGraph(USER_AND_APPROVER)
     List<Timesheet> findByDepartmentIdAndStatus(Long departmentId, Timesheet.TimesheetStatus status);
+
+    @EntityGraph(USER_AND_APPROVER)
     List<Timesheet> findByStatus(Timesheet.TimesheetStatus status);
+
+    @EntityGraph(USER_AND_APPROVER)
     List<Timesheet> findByUserAndDate(User user, LocalDate date);
-    List<Timesheet> findByProjectContainingIgnoreCase(String project);
-}
\ No newline at end of file
+
+    List<Timesheet> findByUserIdInAndDateBetween(Collection<Long> userIds, LocalDate startDate, LocalDate endDate);
+
+    // Callers pass a lower-cased, escaped pattern so the trigram index on lower(project) applies.
+    @EntityGraph(USER_AND_APPROVER)
+    @Query("select t from Timesheet t where lower(t.project) like :pattern escape '\\'")
+    List<Timesheet> findByProjectPattern(@Param("pattern") String pattern);
+
+    @EntityGraph(USER_AND_APPROVER)
+    List<Timesheet> findByStatusAndIdGreaterThanOrderByIdAsc(Timesheet.TimesheetStatus status, Long afterId, Pageable pageable);
+
+    @EntityGraph(USER_AND_APPROVER)
+    List<Timesheet> findByUserAndIdGreaterThanOrderByIdAsc(User user, Long afterId, Pageable pageable);
+
+    @EntityGraph(USER_AND_APPROVER)
+    @Query("select t from Timesheet t where lower(t.project) like :pattern escape '\\' and t.id > :afterId "
+            + "order by t.id")
+    List<Timesheet> findByProjectPatternAfter(@Param("pattern") String pattern, @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    // Matches the expression of idx_timesheets_text_search; the project weighs more than the description.
+    @Query(value = "select t.id from timesheets t, websearch_to_tsquery('english', :query) q "
+            + "where t.organization_id = :organizationId "
+            + "and to_tsvector('english', coalesce(t.project, '') || ' ' || coalesce(t.description, '')) @@ q "
+            + "order by ts_rank(setweight(to_tsvector('english', coalesce(t.project, '')), 'A') "
+            + "|| setweight(to_tsvector('english', coalesce(t.description, '')), 'B'), q) desc, t.id",
+            nativeQuery = true)
+    List<Long> searchIds(@Param("organizationId") Long organizationId, @Param("query") String query,
+                         Pageable pageable);
+
+    @Query("select new com.ems.dto.TimesheetSummary(t.id, t.date, t.startTime, t.endTime, t.project, t.status, "
+            + "concat(u.firstName, ' ', u.lastName), concat(a.firstName, ' ', a.lastName)) "
+            + "from Timesheet t join t.user u left join t.approvedBy a where t.id in :ids")
+    List<TimesheetSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.ems.dto.ProjectUsage(t.organizationId, t.project, count(t)) from Timesheet t "
+            + "where t.project is not null group by t.organizationId, t.project")
+    List<ProjectUsage> findProjectUsages();
+
+    @Query("select new com.ems.dto.TimesheetSummary(t.id, t.date, t.startTime, t.endTime, t.project, t.status, "
+            + "concat(u.firstName, ' ', u.lastName), concat(a.firstName, ' ', a.lastName)) "
+            + "from Timesheet t join t.user u left join t.approvedBy a "
+            + "where t.status = :status and t.id > :afterId order by t.id")
+    List<TimesheetSummary> findSummariesByStatus(@Param("status") Timesheet.TimesheetStatus status,
+                                                 @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.ems.dto.TimesheetSummary(t.id, t.date, t.startTime, t.endTime, t.project, t.status, "
+            + "concat(u.firstName, ' ', u.lastName), concat(a.firstName, ' ', a.lastName)) "
+            + "from Timesheet t join t.user u left join t.approvedBy a "
+            + "where t.departmentId = :departmentId and t.status = :status and t.id > :afterId order by t.id")
+    List<TimesheetSummary> findSummariesByDepartmentIdAndStatus(@Param("departmentId") Long departmentId,
+                                                                @Param("status") Timesheet.TimesheetStatus status,
+                                                                @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.ems.dto.TimesheetSummary(t.id, t.date, t.startTime, t.endTime, t.project, t.status, "
+            + "concat(u.firstName, ' ', u.lastName), concat(a.firstName, ' ', a.lastName)) "
+            + "from Timesheet t join t.user u left join t.approvedBy a "
+            + "where t.departmentId in :departmentIds and t.status = :status and u.id <> :approverId "
+            + "and t.id > :afterId order by t.id")
+    List<TimesheetSummary> findApprovalQueue(@Param("departmentIds") Collection<Long> departmentIds,
+                                             @Param("approverId") Long approverId,
+                                             @Param("status") Timesheet.TimesheetStatus status,
+                                             @Param("afterId") Long afterId, Pageable pageable);
+
+    List<Timesheet> findByIdInAndStatus(Collection<Long> ids, Timesheet.TimesheetStatus status);
+
+    @Query("select t.id from Timesheet t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Timesheet t set t.status = :newStatus, t.approvedBy = :approver, t.approvalDate = :approvalDate, "
+            + "t.comments = :comments, t.version = t.version + 1 where t.id in :ids and t.status = :expectedStatus")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("expectedStatus") Timesheet.TimesheetStatus expectedStatus,
+                         @Param("newStatus") Timesheet.TimesheetStatus newStatus,
+                         @Param("approver") User approver,
+                         @Param("approvalDate") LocalDate approvalDate,
+                         @Param("comments") String comments);
+
+    @Modifying
+    @Query("update Timesheet t set t.departmentId = :departmentId, t.version = t.version + 1 "
+            + "where t.user.id = :userId and t.status = :pending")
+    int reassignOpenTimesheets(@Param("userId") Long userId, @Param("departmentId") Long departmentId,
+                               @Param("pending") Timesheet.TimesheetStatus pending);
+
+    @Query("select new com.ems.rollup.TimesheetRollupEntry(t.id, t.user.id, t.departmentId, t.organizationId, "
+            + "t.date, t.startTime, t.endTime, t.project, t.status) "
+            + "from Timesheet t where t.id > :afterId order by t.id")
+    List<TimesheetRollupEntry> findRollupEntries(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.ems.rollup.TimesheetRollupEntry(t.id, t.user.id, t.departmentId, t.organizationId, "
+            + "t.date, t.startTime, t.endTime, t.project, t.status) "
+            + "from Timesheet t where t.user.id = :userId and t.status = :status")
+    List<TimesheetRollupEntry> findRollupEntriesByUserIdAndStatus(@Param("userId") Long userId,
+                                                                  @Param("status") Timesheet.TimesheetStatus status);
+}
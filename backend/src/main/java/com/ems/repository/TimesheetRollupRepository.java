@@ -0,0 +1,34 @@
+package com.ems.repository;
+
+import com.ems.domain.Timesheet;
+import com.ems.domain.TimesheetRollup;
+import com.ems.dto.DepartmentHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TimesheetRollupRepository extends JpaRepository<TimesheetRollup, TimesheetRollup.Key> {
+    @Query("select r from TimesheetRollup r where r.id.dimension = :dimension "
+            + "and r.id.organizationId = :organizationId and r.id.rollupKey = :rollupKey and r.id.status = :status "
+            + "and r.id.periodStart between :from and :to order by r.id.periodStart")
+    List<TimesheetRollup> findSeries(@Param("dimension") TimesheetRollup.Dimension dimension,
+                                     @Param("organizationId") Long organizationId,
+                                     @Param("rollupKey") String rollupKey,
+                                     @Param("status") Timesheet.TimesheetStatus status,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    @Query("select new com.ems.dto.DepartmentHours(cast(r.id.rollupKey as Long), sum(r.minutes), sum(r.entryCount)) "
+            + "from TimesheetRollup r where r.id.dimension = com.ems.domain.TimesheetRollup.Dimension.DEPARTMENT_MONTH "
+            + "and r.id.organizationId = :organizationId and r.id.status = :status "
+            + "and r.id.periodStart between :from and :to group by r.id.rollupKey")
+    List<DepartmentHours> sumDepartmentHours(@Param("organizationId") Long organizationId,
+                                             @Param("status") Timesheet.TimesheetStatus status,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+}
@@ -1,14 +1,41 @@
 package com.ems.repository;
 
 import com.ems.domain.User;
+import com.ems.dto.DirectoryEntry;
+import com.ems.dto.UserPlacement;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    @EntityGraph(attributePaths = {"organization", "department", "roles"})
+    Optional<User> findWithOrganizationAndDepartmentByEmail(String email);
+
     Optional<User> findByEmailAndOrganizationSubdomain(String email, String subdomain);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    @Query("select new com.ems.dto.UserPlacement(u.id, o.id, d.id) "
+            + "from User u left join u.organization o left join u.department d where u.id in :ids")
+    List<UserPlacement> findPlacementsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.ems.dto.UserPlacement(u.id, u.organization.id, d.id) from User u join u.department d")
+    List<UserPlacement> findPlacementsWithDepartment();
+
+    @Query("select new com.ems.dto.DirectoryEntry(u.id, o.id, u.firstName, u.lastName, u.email, u.position, "
+            + "d.id, d.name) from User u join u.organization o left join u.department d where u.enabled = true")
+    List<DirectoryEntry> findDirectoryEntries();
+}
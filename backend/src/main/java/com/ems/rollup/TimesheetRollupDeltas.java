@@ -0,0 +1,52 @@
+package com.ems.rollup;
+
+import com.ems.domain.TimesheetRollup;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Net change to the rollups produced by one unit of work. Contributions to the same row
+ * are merged before anything is written, and rows are kept in primary key order so
+ * concurrent writers always lock them in the same sequence.
+ */
+public final class TimesheetRollupDeltas {
+    private static final Comparator<TimesheetRollup.Key> PRIMARY_KEY_ORDER =
+            Comparator.comparing(TimesheetRollup.Key::getDimension)
+                    .thenComparing(TimesheetRollup.Key::getOrganizationId)
+                    .thenComparing(TimesheetRollup.Key::getStatus)
+                    .thenComparing(TimesheetRollup.Key::getPeriodStart)
+                    .thenComparing(TimesheetRollup.Key::getRollupKey);
+
+    private final Map<TimesheetRollup.Key, long[]> totals = new TreeMap<>(PRIMARY_KEY_ORDER);
+
+    public TimesheetRollupDeltas add(Collection<TimesheetRollupEntry> entries) {
+        return accumulate(entries, 1);
+    }
+
+    public TimesheetRollupDeltas subtract(Collection<TimesheetRollupEntry> entries) {
+        return accumulate(entries, -1);
+    }
+
+    private TimesheetRollupDeltas accumulate(Collection<TimesheetRollupEntry> entries, int sign) {
+        for (TimesheetRollupEntry entry : entries) {
+            for (TimesheetRollup.Key key : entry.keys()) {
+                long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+                total[0] += sign * entry.minutes();
+                total[1] += sign;
+            }
+        }
+        return this;
+    }
+
+    void forEachChange(BiConsumer<TimesheetRollup.Key, long[]> consumer) {
+        totals.forEach((key, total) -> {
+            if (total[0] != 0 || total[1] != 0) {
+                consumer.accept(key, total);
+            }
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.ems.rollup;
+
+import com.ems.domain.Timesheet;
+import com.ems.domain.TimesheetRollup;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The part of a timesheet that contributes to the rollups. Services capture it before
+ * mutating an entry so the old contribution can be subtracted exactly.
+ */
+public record TimesheetRollupEntry(
+        Long timesheetId,
+        Long userId,
+        Long departmentId,
+        Long organizationId,
+        LocalDate date,
+        String project,
+        Timesheet.TimesheetStatus status,
+        long minutes
+) {
+    public static final long NO_ORGANIZATION = 0L;
+
+    public TimesheetRollupEntry(Long timesheetId, Long userId, Long departmentId, Long organizationId,
+                                LocalDate date, LocalTime startTime, LocalTime endTime, String project,
+                                Timesheet.TimesheetStatus status) {
+        this(timesheetId, userId, departmentId, organizationId, date, project, status,
+                Duration.between(startTime, endTime).toMinutes());
+    }
+
+    public static TimesheetRollupEntry of(Timesheet timesheet) {
+        return new TimesheetRollupEntry(
+                timesheet.getId(),
+                timesheet.getUser().getId(),
+                timesheet.getDepartmentId(),
+                timesheet.getOrganizationId(),
+                timesheet.getDate(),
+                timesheet.getStartTime(),
+                timesheet.getEndTime(),
+                timesheet.getProject(),
+                timesheet.getStatus());
+    }
+
+    public TimesheetRollupEntry withStatus(Timesheet.TimesheetStatus newStatus) {
+        return new TimesheetRollupEntry(timesheetId, userId, departmentId, organizationId, date, project,
+                newStatus, minutes);
+    }
+
+    public TimesheetRollupEntry withDepartmentId(Long newDepartmentId) {
+        return new TimesheetRollupEntry(timesheetId, userId, newDepartmentId, organizationId, date, project,
+                status, minutes);
+    }
+
+    // Weeks start on Monday, matching date_trunc('week', ...) in the V3 backfill.
+    List<TimesheetRollup.Key> keys() {
+        Long organization = organizationId != null ? organizationId : NO_ORGANIZATION;
+        LocalDate week = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate month = date.withDayOfMonth(1);
+
+        List<TimesheetRollup.Key> keys = new ArrayList<>(5);
+        keys.add(key(TimesheetRollup.Dimension.USER_DAY, organization, userId.toString(), date));
+        keys.add(key(TimesheetRollup.Dimension.USER_WEEK, organization, userId.toString(), week));
+        if (departmentId != null) {
+            keys.add(key(TimesheetRollup.Dimension.DEPARTMENT_WEEK, organization, departmentId.toString(), week));
+            keys.add(key(TimesheetRollup.Dimension.DEPARTMENT_MONTH, organization, departmentId.toString(), month));
+        }
+        if (project != null && !project.isBlank()) {
+            keys.add(key(TimesheetRollup.Dimension.PROJECT_MONTH, organization, project, month));
+        }
+        return keys;
+    }
+
+    private TimesheetRollup.Key key(TimesheetRollup.Dimension dimension, Long organization, String rollupKey,
+                                    LocalDate periodStart) {
+        return new TimesheetRollup.Key(dimension, organization, rollupKey, periodStart, status);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ems.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record JwtPrincipal(
+        Long userId,
+        Long organizationId,
+        String subject,
+        Set<String> roles,
+        Instant expiresAt
+) implements Principal {
+    static final String USER_ID_CLAIM = "uid";
+    static final String ORGANIZATION_ID_CLAIM = "oid";
+    static final String ROLES_CLAIM = "roles";
+
+    static JwtPrincipal from(Claims claims) {
+        String roles = claims.get(ROLES_CLAIM, String.class);
+        return new JwtPrincipal(
+                longClaim(claims, USER_ID_CLAIM),
+                longClaim(claims, ORGANIZATION_ID_CLAIM),
+                claims.getSubject(),
+                roles == null || roles.isEmpty()
+                        ? Set.of()
+                        : Arrays.stream(roles.split(",")).collect(Collectors.toUnmodifiableSet()),
+                claims.getExpiration().toInstant());
+    }
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+
+    private static Long longClaim(Claims claims, String name) {
+        Number value = claims.get(name, Number.class);
+        return value != null ? value.longValue() : null;
+    }
+}
@@ -1,18 +1,30 @@
 package com.ems.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
+    private static final int MIN_SECRET_BYTES = 32;
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -20,9 +32,48 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private int jwtExpirationInMs;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.verified-token-cache-size:10000}")
+    private long verifiedTokenCacheSize;
+
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Keyed by a SHA-256 digest so raw bearer tokens are never retained on the heap.
+    // Entries expire together with the token they describe.
+    private Cache<String, JwtPrincipal> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        byte[] secret = jwtSecret.getBytes(StandardCharsets.UTF_8);
+        if (secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("jwt.secret (JWT_SECRET) must be at least " + MIN_SECRET_BYTES
+                    + " bytes for HS256, but is " + secret.length);
+        }
+        signingKey = Keys.hmacShaKeyFor(secret);
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -33,34 +84,57 @@ public class JwtTokenProvider {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(authentication.getName())
-                .claim("roles", authorities)
-                .setIssuedAt(new Date())
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+                .claim(JwtPrincipal.ROLES_CLAIM, authorities)
+                .setIssuedAt(now)
+                .setExpiration(expiryDate);
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            builder.claim(JwtPrincipal.USER_ID_CLAIM, principal.getId())
+                    .claim(JwtPrincipal.ORGANIZATION_ID_CLAIM, principal.getOrganizationId());
+        }
+        return builder.signWith(signingKey).compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Optional<JwtPrincipal> validateAndExtract(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String cacheKey = digest(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            // Every token issued here expires; one without exp would never expire, so it is refused.
+            if (claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            JwtPrincipal principal = JwtPrincipal.from(claims);
+            verifiedTokens.put(cacheKey, principal);
+            return Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 
-        return claims.getSubject();
+    public String getUsernameFromToken(String token) {
+        return validateAndExtract(token)
+                .map(JwtPrincipal::subject)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
     }
 
     public boolean validateToken(String authToken) {
+        return validateAndExtract(authToken).isPresent();
+    }
+
+    private static String digest(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
-}
\ No newline at end of file
+}
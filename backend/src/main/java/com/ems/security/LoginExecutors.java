@@ -0,0 +1,63 @@
+package com.ems.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two executors behind the asynchronous login pipeline: a bounded pool for the
+ * blocking database steps and a fixed-size pool sized to the cores for password
+ * hashing. Both reject work when their queue is full, which is how back-pressure
+ * reaches the caller, and both record how long tasks waited before running.
+ */
+public class LoginExecutors implements DisposableBean {
+    private final ExecutorService ioPool;
+    private final ExecutorService hashPool;
+    private final Executor io;
+    private final Executor hash;
+
+    public LoginExecutors(ExecutorService ioPool, ExecutorService hashPool, MeterRegistry meterRegistry) {
+        this.ioPool = ioPool;
+        this.hashPool = hashPool;
+        this.io = instrumented(ioPool, queueTimer(meterRegistry, "io"));
+        this.hash = instrumented(hashPool, queueTimer(meterRegistry, "hash"));
+    }
+
+    public Executor io() {
+        return io;
+    }
+
+    public Executor hash() {
+        return hash;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        ioPool.shutdown();
+        hashPool.shutdown();
+        ioPool.awaitTermination(10, TimeUnit.SECONDS);
+        hashPool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static Timer queueTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("ems.login.queue.time")
+                .description("Time login tasks spend queued before a worker picks them up")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static Executor instrumented(ExecutorService pool, Timer queueTime) {
+        return task -> {
+            long submittedAt = System.nanoTime();
+            pool.execute(() -> {
+                queueTime.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                task.run();
+            });
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.ems.security;
+
+import com.ems.domain.User;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Snapshot of a {@link User} taken at login. It carries everything the login response
+ * and the issued token need, so the entity is never loaded a second time.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+    private final Long id;
+    private final Long organizationId;
+    private final String email;
+    private String password;
+    private final String firstName;
+    private final String lastName;
+    private final String organizationName;
+    private final String departmentName;
+    private final Set<String> roles;
+    private final boolean enabled;
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getOrganization() != null ? user.getOrganization().getId() : null,
+                user.getEmail(),
+                user.getPassword(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getOrganization() != null ? user.getOrganization().getName() : null,
+                user.getDepartment() != null ? user.getDepartment().getName() : null,
+                Set.copyOf(user.getRoles()),
+                user.isEnabled());
+    }
+
+    public UserPrincipal withPassword(String newPassword) {
+        return new UserPrincipal(id, organizationId, email, newPassword, firstName, lastName,
+                organizationName, departmentName, roles, enabled);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
@@ -1,23 +1,37 @@
 package com.ems.service;
 
-import com.ems.domain.User;
 import com.ems.dto.AuthRequest;
 import com.ems.dto.AuthResponse;
-import com.ems.repository.UserRepository;
+import com.ems.security.EmsUserDetailsService;
 import com.ems.security.JwtTokenProvider;
+import com.ems.security.LoginExecutors;
+import com.ems.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
+    private static final String BAD_CREDENTIALS = "Bad credentials";
+
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
-    private final UserRepository userRepository;
+    private final EmsUserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
+    private final LoginExecutors loginExecutors;
+
+    private volatile String unknownUserHash;
 
     public AuthResponse authenticate(AuthRequest request) {
         Authentication authentication = authenticationManager.authenticate(
@@ -25,10 +39,64 @@ public class AuthService {
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
+        return toResponse(authentication);
+    }
+
+    /**
+     * Same contract as {@link #authenticate(AuthRequest)}, but runs the user lookup and
+     * the password check on the dedicated login executors instead of the calling thread.
+     * The returned future fails with a {@link java.util.concurrent.RejectedExecutionException}
+     * when the login queues are full.
+     */
+    public CompletableFuture<AuthResponse> authenticateAsync(AuthRequest request) {
+        return CompletableFuture
+            .supplyAsync(() -> findUser(request.getEmail()), loginExecutors.io())
+            .thenApplyAsync(user -> verifyPassword(user, request.getPassword()), loginExecutors.hash())
+            .thenApplyAsync(this::completeLogin, loginExecutors.io());
+    }
+
+    private Optional<UserPrincipal> findUser(String email) {
+        try {
+            return Optional.of((UserPrincipal) userDetailsService.loadUserByUsername(email));
+        } catch (UsernameNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    private VerifiedLogin verifyPassword(Optional<UserPrincipal> candidate, String rawPassword) {
+        if (candidate.isEmpty()) {
+            // Spend the same hashing time as a real check so unknown emails can't be probed by latency.
+            passwordEncoder.matches(rawPassword, unknownUserHash());
+            throw new BadCredentialsException(BAD_CREDENTIALS);
+        }
+        UserPrincipal user = candidate.get();
+        if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+            throw new BadCredentialsException(BAD_CREDENTIALS);
+        }
+        if (!user.isEnabled()) {
+            throw new DisabledException("User is disabled");
+        }
+        String upgradedHash = passwordEncoder.upgradeEncoding(user.getPassword())
+            ? passwordEncoder.encode(rawPassword)
+            : null;
+        return new VerifiedLogin(user, upgradedHash);
+    }
+
+    private AuthResponse completeLogin(VerifiedLogin login) {
+        UserPrincipal user = login.user();
+        if (login.upgradedHash() != null) {
+            user = (UserPrincipal) userDetailsService.updatePassword(user, login.upgradedHash());
+        }
+        user.eraseCredentials();
+        return toResponse(UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    }
+
+    private AuthResponse toResponse(Authentication authentication) {
         String jwt = tokenProvider.generateToken(authentication);
 
-        User user = userRepository.findByEmail(request.getEmail())
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        // The principal was loaded together with its organization, department and roles
+        // during authentication, so the response needs no further lookup.
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
 
         return AuthResponse.builder()
             .token(jwt)
@@ -37,8 +105,20 @@ public class AuthService {
             .firstName(user.getFirstName())
             .lastName(user.getLastName())
             .roles(user.getRoles())
-            .organizationName(user.getOrganization() != null ? user.getOrganization().getName() : null)
-            .departmentName(user.getDepartment() != null ? user.getDepartment().getName() : null)
+            .organizationName(user.getOrganizationName())
+            .departmentName(user.getDepartmentName())
             .build();
     }
-}
\ No newline at end of file
+
+    private String unknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("unknown-user-password");
+            unknownUserHash = hash;
+        }
+        return hash;
+    }
+
+    private record VerifiedLogin(UserPrincipal user, String upgradedHash) {
+    }
+}
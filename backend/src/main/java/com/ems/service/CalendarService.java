@@ -0,0 +1,18 @@
+package com.ems.service;
+
+import com.ems.domain.Holiday;
+import com.ems.domain.Organization;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+public interface CalendarService {
+    Holiday addHoliday(Long organizationId, LocalDate date, String name);
+    void removeHoliday(Long holidayId);
+    List<Holiday> getHolidays(Long organizationId, int year);
+    Organization setWorkingWeek(Long organizationId, Set<DayOfWeek> workingDays);
+    boolean isWorkingDay(Long organizationId, LocalDate date);
+    int countWorkingDays(Long organizationId, LocalDate from, LocalDate to);
+}
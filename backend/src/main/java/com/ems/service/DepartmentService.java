@@ -5,6 +5,7 @@ import com.ems.domain.Organization;
 import com.ems.domain.User;
 
 import java.util.List;
+import java.util.Set;
 
 public interface DepartmentService {
     Department createDepartment(Department department);
@@ -13,6 +14,8 @@ public interface DepartmentService {
     List<Department> getDepartmentsByOrganization(Organization organization);
     List<Department> getDepartmentsByOrganizationId(Long organizationId);
     List<Department> getDepartmentsByManager(Long managerId);
+    List<Long> getApproverChain(Long employeeId);
+    Set<Long> getReports(Long managerId, boolean transitive);
     Department assignManager(Long departmentId, Long managerId);
     Department addEmployee(Long departmentId, Long employeeId);
     Department removeEmployee(Long departmentId, Long employeeId);
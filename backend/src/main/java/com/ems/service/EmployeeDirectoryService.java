@@ -0,0 +1,9 @@
+package com.ems.service;
+
+import com.ems.dto.DirectoryEntry;
+
+import java.util.List;
+
+public interface EmployeeDirectoryService {
+    List<DirectoryEntry> search(Long organizationId, String query, int limit);
+}
@@ -0,0 +1,15 @@
+package com.ems.service;
+
+import com.ems.dto.ExportResult;
+import com.ems.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ExportService {
+    ExportResult exportTimesheets(Long organizationId, LocalDate from, LocalDate to, ExportFormat format,
+                                  OutputStream out) throws IOException;
+    ExportResult exportLeaves(Long organizationId, LocalDate from, LocalDate to, ExportFormat format,
+                              OutputStream out) throws IOException;
+}
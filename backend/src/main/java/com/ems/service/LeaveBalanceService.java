@@ -0,0 +1,12 @@
+package com.ems.service;
+
+import com.ems.domain.Leave;
+import com.ems.domain.LeaveBalance;
+
+import java.util.List;
+
+public interface LeaveBalanceService {
+    LeaveBalance getBalance(Long userId, Leave.LeaveType type, int year);
+    List<LeaveBalance> getBalances(Long userId, int year);
+    int reconcileBalances();
+}
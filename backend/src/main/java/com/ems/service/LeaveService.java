@@ -2,21 +2,38 @@ package com.ems.service;
 
 import com.ems.domain.Leave;
 import com.ems.domain.User;
+import com.ems.dto.BulkTransitionResult;
+import com.ems.dto.LeaveInterval;
+import com.ems.dto.LeaveSummary;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface LeaveService {
     Leave createLeaveRequest(Leave leave);
     Leave updateLeaveRequest(Long id, Leave leave);
     Leave approveLeaveRequest(Long id, User approver, String comments);
     Leave rejectLeaveRequest(Long id, User approver, String comments);
+    BulkTransitionResult approveLeaveRequests(Set<Long> ids, User approver, String comments);
+    BulkTransitionResult rejectLeaveRequests(Set<Long> ids, User approver, String comments);
     Leave cancelLeaveRequest(Long id);
     Leave getLeaveById(Long id);
     List<Leave> getLeavesByUser(User user);
     List<Leave> getLeavesByUserAndDateRange(User user, LocalDate startDate, LocalDate endDate);
     List<Leave> getLeavesByDepartmentAndStatus(Long departmentId, Leave.LeaveStatus status);
     List<Leave> getLeavesByStatus(Leave.LeaveStatus status);
+    List<Leave> getLeavesByUser(User user, Long afterId, int limit);
+    List<Leave> getLeavesByStatus(Leave.LeaveStatus status, Long afterId, int limit);
+    List<LeaveSummary> getLeaveSummariesByStatus(Leave.LeaveStatus status, Long afterId, int limit);
+    List<LeaveSummary> getLeaveSummariesByDepartmentAndStatus(Long departmentId, Leave.LeaveStatus status,
+                                                              Long afterId, int limit);
+    List<LeaveSummary> getApprovalQueue(Long managerId, boolean includeSkipLevel, Long afterId, int limit);
+    void forEachLeaveChunkByUser(User user, int chunkSize, Consumer<List<Leave>> consumer);
+    void forEachLeaveChunkByStatus(Leave.LeaveStatus status, int chunkSize, Consumer<List<Leave>> consumer);
     boolean hasOverlappingLeave(User user, LocalDate startDate, LocalDate endDate);
+    List<LeaveInterval> getDepartmentAbsences(Long departmentId, LocalDate from, LocalDate to);
+    int countWorkingDays(Leave leave);
     void deleteLeave(Long id);
 }
\ No newline at end of file
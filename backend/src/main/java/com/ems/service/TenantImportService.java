@@ -0,0 +1,14 @@
+package com.ems.service;
+
+import com.ems.domain.ImportCheckpoint;
+import com.ems.domain.Organization;
+import com.ems.dto.TenantImportReport;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public interface TenantImportService {
+    TenantImportReport importTenant(String importId, Organization organization, Long requesterId,
+                                    Reader departmentsCsv, Reader usersCsv) throws IOException;
+    ImportCheckpoint getImportStatus(String importId, Long requesterId);
+}
@@ -0,0 +1,15 @@
+package com.ems.service;
+
+import com.ems.domain.Timesheet;
+import com.ems.domain.TimesheetRollup;
+import com.ems.dto.DepartmentHours;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TimesheetReportService {
+    List<DepartmentHours> getApprovedHoursByDepartment(Long organizationId, int year, int quarter);
+    List<TimesheetRollup> getRollupSeries(TimesheetRollup.Dimension dimension, Long organizationId, String rollupKey,
+                                          Timesheet.TimesheetStatus status, LocalDate from, LocalDate to);
+    void rebuildRollups();
+}
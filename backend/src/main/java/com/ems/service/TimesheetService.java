@@ -2,15 +2,22 @@ package com.ems.service;
 
 import com.ems.domain.Timesheet;
 import com.ems.domain.User;
+import com.ems.dto.BulkTransitionResult;
+import com.ems.dto.TimesheetSummary;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface TimesheetService {
     Timesheet createTimesheet(Timesheet timesheet);
+    List<Timesheet> createTimesheets(List<Timesheet> timesheets);
     Timesheet updateTimesheet(Long id, Timesheet timesheet);
     Timesheet approveTimesheet(Long id, User approver, String comments);
     Timesheet rejectTimesheet(Long id, User approver, String comments);
+    BulkTransitionResult approveTimesheets(Set<Long> ids, User approver, String comments);
+    BulkTransitionResult rejectTimesheets(Set<Long> ids, User approver, String comments);
     Timesheet getTimesheetById(Long id);
     List<Timesheet> getTimesheetsByUser(User user);
     List<Timesheet> getTimesheetsByUserAndDateRange(User user, LocalDate startDate, LocalDate endDate);
@@ -18,5 +25,18 @@ public interface TimesheetService {
     List<Timesheet> getTimesheetsByStatus(Timesheet.TimesheetStatus status);
     List<Timesheet> getTimesheetsByUserAndDate(User user, LocalDate date);
     List<Timesheet> getTimesheetsByProject(String project);
+    List<Timesheet> getTimesheetsByUser(User user, Long afterId, int limit);
+    List<Timesheet> getTimesheetsByStatus(Timesheet.TimesheetStatus status, Long afterId, int limit);
+    List<Timesheet> getTimesheetsByProject(String project, Long afterId, int limit);
+    List<TimesheetSummary> getTimesheetSummariesByStatus(Timesheet.TimesheetStatus status, Long afterId, int limit);
+    List<TimesheetSummary> getTimesheetSummariesByDepartmentAndStatus(Long departmentId,
+                                                                      Timesheet.TimesheetStatus status,
+                                                                      Long afterId, int limit);
+    List<TimesheetSummary> getApprovalQueue(Long managerId, boolean includeSkipLevel, Long afterId, int limit);
+    List<TimesheetSummary> searchTimesheets(Long organizationId, String query, int page, int size);
+    List<String> suggestProjects(Long organizationId, String prefix, int limit);
+    void forEachTimesheetChunkByUser(User user, int chunkSize, Consumer<List<Timesheet>> consumer);
+    void forEachTimesheetChunkByStatus(Timesheet.TimesheetStatus status, int chunkSize, Consumer<List<Timesheet>> consumer);
+    void forEachTimesheetChunkByProject(String project, int chunkSize, Consumer<List<Timesheet>> consumer);
     void deleteTimesheet(Long id);
 }
\ No newline at end of file
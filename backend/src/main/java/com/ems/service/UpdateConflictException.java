@@ -0,0 +1,15 @@
+package com.ems.service;
+
+/**
+ * Thrown when a write loses a race with a concurrent change to the same row: a guarded
+ * status transition matched no row in the expected state, or an update carried a stale version.
+ */
+public class UpdateConflictException extends IllegalStateException {
+    public UpdateConflictException(String message) {
+        super(message);
+    }
+
+    public UpdateConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ems.service.impl;
+
+import com.ems.balance.LeaveBalanceDeltas;
+import com.ems.balance.LeaveBalanceLedger;
+import com.ems.calendar.WorkingCalendars;
+import com.ems.domain.Holiday;
+import com.ems.domain.Leave;
+import com.ems.domain.Organization;
+import com.ems.index.LeaveIntervalIndex;
+import com.ems.repository.HolidayRepository;
+import com.ems.repository.LeaveRepository;
+import com.ems.repository.OrganizationRepository;
+import com.ems.service.CalendarService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CalendarServiceImpl implements CalendarService {
+    private final HolidayRepository holidayRepository;
+    private final OrganizationRepository organizationRepository;
+    private final WorkingCalendars workingCalendars;
+    private final LeaveRepository leaveRepository;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+
+    @Override
+    public Holiday addHoliday(Long organizationId, LocalDate date, String name) {
+        if (!organizationRepository.existsById(organizationId)) {
+            throw new EntityNotFoundException("Organization not found with id: " + organizationId);
+        }
+        if (holidayRepository.existsByOrganizationIdAndDate(organizationId, date)) {
+            throw new IllegalStateException("A holiday already exists on " + date);
+        }
+        Holiday holiday = new Holiday();
+        holiday.setOrganizationId(organizationId);
+        holiday.setDate(date);
+        holiday.setName(name);
+        List<Leave> affected = openLeaves(organizationId, date, date);
+        LeaveBalanceDeltas booked = withdrawAll(affected);
+        Holiday saved = holidayRepository.saveAndFlush(holiday);
+        rebook(affected, booked);
+        workingCalendars.invalidate(organizationId);
+        return saved;
+    }
+
+    @Override
+    public void removeHoliday(Long holidayId) {
+        Holiday holiday = holidayRepository.findById(holidayId)
+                .orElseThrow(() -> new EntityNotFoundException("Holiday not found with id: " + holidayId));
+        List<Leave> affected = openLeaves(holiday.getOrganizationId(), holiday.getDate(), holiday.getDate());
+        LeaveBalanceDeltas booked = withdrawAll(affected);
+        holidayRepository.delete(holiday);
+        holidayRepository.flush();
+        rebook(affected, booked);
+        workingCalendars.invalidate(holiday.getOrganizationId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Holiday> getHolidays(Long organizationId, int year) {
+        return holidayRepository.findByOrganizationIdAndDateBetweenOrderByDate(
+                organizationId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    @Override
+    public Organization setWorkingWeek(Long organizationId, Set<DayOfWeek> workingDays) {
+        if (workingDays.isEmpty()) {
+            throw new IllegalArgumentException("At least one weekday must be a working day");
+        }
+        Organization organization = organizationRepository.findById(organizationId)
+                .orElseThrow(() -> new EntityNotFoundException("Organization not found with id: " + organizationId));
+        int mask = 0;
+        for (DayOfWeek day : workingDays) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        List<Leave> affected = leaveRepository.findByOrganizationIdAndStatusIn(
+                organizationId, LeaveIntervalIndex.ACTIVE_STATUSES);
+        LeaveBalanceDeltas booked = withdrawAll(affected);
+        organization.setWorkingDays(mask);
+        Organization saved = organizationRepository.saveAndFlush(organization);
+        rebook(affected, booked);
+        workingCalendars.invalidate(organizationId);
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isWorkingDay(Long organizationId, LocalDate date) {
+        return workingCalendars.isWorkingDay(organizationId, date);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int countWorkingDays(Long organizationId, LocalDate from, LocalDate to) {
+        return workingCalendars.workingDays(organizationId, from, to);
+    }
+
+    // Open leaves were booked with the calendar as it was; a calendar edit re-books them in the
+    // same transaction, so balances never keep days counted under a calendar that no longer exists.
+    private List<Leave> openLeaves(Long organizationId, LocalDate from, LocalDate to) {
+        return leaveRepository.findByOrganizationIdAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                organizationId, LeaveIntervalIndex.ACTIVE_STATUSES, to, from);
+    }
+
+    // Must run before the edit is flushed, while the calendar still counts the days as booked.
+    private LeaveBalanceDeltas withdrawAll(List<Leave> leaves) {
+        LeaveBalanceDeltas deltas = new LeaveBalanceDeltas(workingCalendars);
+        leaves.forEach(leave -> deltas.withdraw(leave, leave.getStatus()));
+        return deltas;
+    }
+
+    private void rebook(List<Leave> leaves, LeaveBalanceDeltas withdrawn) {
+        if (leaves.isEmpty()) {
+            return;
+        }
+        LeaveBalanceDeltas rebooked = new LeaveBalanceDeltas(workingCalendars.uncommitted());
+        leaves.forEach(rebooked::book);
+        leaveBalanceLedger.apply(withdrawn);
+        leaveBalanceLedger.apply(rebooked);
+    }
+}
@@ -1,17 +1,32 @@
 package com.ems.service.impl;
 
+import com.ems.cache.ReferenceDataCache;
 import com.ems.domain.Department;
+import com.ems.domain.Leave;
 import com.ems.domain.Organization;
+import com.ems.domain.Timesheet;
 import com.ems.domain.User;
+import com.ems.index.EmployeeDirectoryIndex;
+import com.ems.index.LeaveIntervalIndex;
+import com.ems.index.ReportingLineIndex;
 import com.ems.repository.DepartmentRepository;
+import com.ems.repository.LeaveRepository;
+import com.ems.repository.TimesheetRepository;
 import com.ems.repository.UserRepository;
+import com.ems.rollup.TimesheetRollupDeltas;
+import com.ems.rollup.TimesheetRollupEntry;
+import com.ems.rollup.TimesheetRollupWriter;
 import com.ems.service.DepartmentService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,13 +34,25 @@ import java.util.List;
 public class DepartmentServiceImpl implements DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final UserRepository userRepository;
+    private final LeaveRepository leaveRepository;
+    private final TimesheetRepository timesheetRepository;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final ReportingLineIndex reportingLineIndex;
+    private final EmployeeDirectoryIndex employeeDirectoryIndex;
+    private final TimesheetRollupWriter timesheetRollupWriter;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     public Department createDepartment(Department department) {
         if (existsByNameInOrganization(department.getName(), department.getOrganization().getId())) {
             throw new IllegalStateException("Department with this name already exists in the organization");
         }
-        return departmentRepository.save(department);
+        Department saved = departmentRepository.save(department);
+        referenceDataCache.evictDepartment(saved.getId());
+        if (saved.getManager() != null) {
+            reportingLineIndex.assignManager(saved.getId(), saved.getManager().getId());
+        }
+        return saved;
     }
 
     @Override
@@ -36,7 +63,11 @@ public class DepartmentServiceImpl implements DepartmentService {
             throw new IllegalStateException("Department with this name already exists in the organization");
         }
         department.setId(id);
-        return departmentRepository.save(department);
+        referenceDataCache.evictDepartment(id);
+        Department saved = departmentRepository.save(department);
+        reportingLineIndex.assignManager(id, saved.getManager() != null ? saved.getManager().getId() : null);
+        employeeDirectoryIndex.renameDepartment(saved.getOrganization().getId(), id, saved.getName());
+        return saved;
     }
 
     @Override
@@ -64,6 +95,18 @@ public class DepartmentServiceImpl implements DepartmentService {
         return departmentRepository.findByManagerId(managerId);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Long> getApproverChain(Long employeeId) {
+        return reportingLineIndex.approversOf(employeeId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Set<Long> getReports(Long managerId, boolean transitive) {
+        return reportingLineIndex.reportsOf(managerId, transitive);
+    }
+
     @Override
     public Department assignManager(Long departmentId, Long managerId) {
         Department department = getDepartmentById(departmentId);
@@ -75,6 +118,8 @@ public class DepartmentServiceImpl implements DepartmentService {
         }
 
         department.setManager(manager);
+        referenceDataCache.evictDepartment(departmentId);
+        reportingLineIndex.assignManager(departmentId, managerId);
         return departmentRepository.save(department);
     }
 
@@ -90,6 +135,10 @@ public class DepartmentServiceImpl implements DepartmentService {
 
         employee.setDepartment(department);
         department.getEmployees().add(employee);
+        moveOpenEntries(employeeId, departmentId);
+        employeeDirectoryIndex.placeEmployee(
+                department.getOrganization().getId(), employeeId, departmentId, department.getName());
+        referenceDataCache.evictDepartment(departmentId);
         return departmentRepository.save(department);
     }
 
@@ -105,6 +154,9 @@ public class DepartmentServiceImpl implements DepartmentService {
 
         employee.setDepartment(null);
         department.getEmployees().remove(employee);
+        moveOpenEntries(employeeId, null);
+        employeeDirectoryIndex.placeEmployee(department.getOrganization().getId(), employeeId, null, null);
+        referenceDataCache.evictDepartment(departmentId);
         return departmentRepository.save(department);
     }
 
@@ -121,5 +173,21 @@ public class DepartmentServiceImpl implements DepartmentService {
             throw new IllegalStateException("Cannot delete department with assigned employees");
         }
         departmentRepository.deleteById(id);
+        referenceDataCache.evictDepartment(id);
+        reportingLineIndex.removeDepartment(id);
+    }
+
+    // Closed history stays with the department it was recorded in; only work that is still
+    // pending or upcoming follows the employee.
+    private void moveOpenEntries(Long employeeId, Long departmentId) {
+        leaveRepository.reassignOpenLeaves(employeeId, departmentId, Leave.LeaveStatus.PENDING, LocalDate.now());
+        List<TimesheetRollupEntry> pending =
+                timesheetRepository.findRollupEntriesByUserIdAndStatus(employeeId, Timesheet.TimesheetStatus.PENDING);
+        timesheetRepository.reassignOpenTimesheets(employeeId, departmentId, Timesheet.TimesheetStatus.PENDING);
+        timesheetRollupWriter.apply(new TimesheetRollupDeltas()
+                .subtract(pending)
+                .add(pending.stream().map(entry -> entry.withDepartmentId(departmentId)).collect(Collectors.toList())));
+        leaveIntervalIndex.reassignUser(employeeId, departmentId);
+        reportingLineIndex.placeEmployee(employeeId, departmentId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.ems.service.impl;
+
+import com.ems.dto.DirectoryEntry;
+import com.ems.index.EmployeeDirectoryIndex;
+import com.ems.service.EmployeeDirectoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Answers from memory only, so no transaction or connection is opened.
+@Service
+@RequiredArgsConstructor
+public class EmployeeDirectoryServiceImpl implements EmployeeDirectoryService {
+    private final EmployeeDirectoryIndex employeeDirectoryIndex;
+
+    @Override
+    public List<DirectoryEntry> search(Long organizationId, String query, int limit) {
+        return employeeDirectoryIndex.search(organizationId, query, KeysetPaging.pageSize(limit));
+    }
+}
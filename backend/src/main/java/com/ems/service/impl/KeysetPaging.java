@@ -0,0 +1,65 @@
+package com.ems.service.impl;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Seek-based paging helpers shared by the service implementations. Pages are
+ * addressed by the last id seen rather than an offset, so every page is a
+ * primary-key range scan regardless of how deep the caller has read.
+ */
+final class KeysetPaging {
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private KeysetPaging() {
+    }
+
+    static Long startAfter(Long afterId) {
+        return afterId != null ? afterId : 0L;
+    }
+
+    static Pageable limit(int limit) {
+        return Pageable.ofSize(pageSize(limit));
+    }
+
+    // The same bounds for lookups served from memory, which take a plain result count.
+    static int pageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    /**
+     * Variant for entity chunks. With open-in-view every per-call transaction shares the
+     * request's EntityManager, so each chunk is detached before it reaches the consumer;
+     * otherwise the persistence context would keep every chunk read so far.
+     */
+    static <T> void forEachEntityChunk(EntityManager entityManager, BiFunction<Long, Pageable, List<T>> fetch,
+                                       Function<T, Long> idOf, int chunkSize, Consumer<List<T>> consumer) {
+        forEachChunk(fetch, idOf, chunkSize, chunk -> {
+            chunk.forEach(entityManager::detach);
+            consumer.accept(chunk);
+        });
+    }
+
+    static <T> void forEachChunk(BiFunction<Long, Pageable, List<T>> fetch, Function<T, Long> idOf,
+                                 int chunkSize, Consumer<List<T>> consumer) {
+        Pageable page = limit(chunkSize);
+        Long afterId = 0L;
+        List<T> chunk;
+        do {
+            chunk = fetch.apply(afterId, page);
+            if (chunk.isEmpty()) {
+                return;
+            }
+            consumer.accept(chunk);
+            afterId = idOf.apply(chunk.get(chunk.size() - 1));
+        } while (chunk.size() == chunkSize);
+    }
+}
@@ -0,0 +1,139 @@
+package com.ems.service.impl;
+
+import com.ems.balance.LeaveBalanceDeltas;
+import com.ems.balance.LeaveBalanceLedger;
+import com.ems.calendar.WorkingCalendars;
+import com.ems.domain.Leave;
+import com.ems.domain.LeaveBalance;
+import com.ems.repository.LeaveBalanceRepository;
+import com.ems.repository.OrganizationRepository;
+import com.ems.service.LeaveBalanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class LeaveBalanceServiceImpl implements LeaveBalanceService {
+    private static final String ORGANIZATION_HISTORY = """
+            select user_id, type, status, start_date, end_date from leaves
+            where organization_id = ? and status in ('PENDING', 'APPROVED')""";
+
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final WorkingCalendars workingCalendars;
+    private final OrganizationRepository organizationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${ems.leave-balances.reconcile-threads:4}")
+    private int reconcileThreads;
+
+    @Value("${ems.leave-balances.reconcile-on-startup:false}")
+    private boolean reconcileOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileIfRequested() {
+        if (reconcileOnStartup) {
+            reconcileBalances();
+        }
+    }
+
+    @Scheduled(cron = "${ems.leave-balances.reconcile-cron:-}")
+    public void scheduledReconcile() {
+        reconcileBalances();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LeaveBalance getBalance(Long userId, Leave.LeaveType type, int year) {
+        LeaveBalance.Key key = new LeaveBalance.Key(userId, type, year);
+        return leaveBalanceRepository.findById(key).orElseGet(() -> {
+            LeaveBalance empty = new LeaveBalance();
+            empty.setId(key);
+            empty.setEntitledDays(leaveBalanceLedger.entitlement(type));
+            return empty;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LeaveBalance> getBalances(Long userId, int year) {
+        return leaveBalanceRepository.findByIdUserIdAndIdBalanceYearOrderByIdLeaveType(userId, year);
+    }
+
+    // Organizations share no balance rows, so each one is rebuilt from its leave history in
+    // its own transaction on a small pool; a failure in one does not undo the others.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int reconcileBalances() {
+        List<Long> organizationIds = organizationRepository.findAllIds();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Callable<Void>> tasks = new ArrayList<>(organizationIds.size());
+        for (Long organizationId : organizationIds) {
+            tasks.add(() -> {
+                transaction.executeWithoutResult(status -> reconcileOrganization(organizationId));
+                return null;
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, reconcileThreads),
+                new CustomizableThreadFactory("leave-reconcile-"));
+        int failed = 0;
+        try {
+            List<Future<Void>> results = pool.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.error("Reconciling leave balances of organization {} failed", organizationIds.get(i),
+                            e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Leave balance reconciliation interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        log.info("Reconciled leave balances of {} organizations in {} ms ({} failed)",
+                organizationIds.size() - failed, (System.nanoTime() - startedAt) / 1_000_000, failed);
+        if (failed > 0) {
+            throw new IllegalStateException("Leave balance reconciliation failed for " + failed + " organization(s)");
+        }
+        return organizationIds.size();
+    }
+
+    private void reconcileOrganization(Long organizationId) {
+        leaveBalanceLedger.resetOrganization(organizationId);
+        LeaveBalanceDeltas totals = new LeaveBalanceDeltas(workingCalendars);
+        jdbcTemplate.query(ORGANIZATION_HISTORY, rs -> {
+            totals.count(rs.getLong("user_id"), organizationId, Leave.LeaveType.valueOf(rs.getString("type")),
+                    Leave.LeaveStatus.valueOf(rs.getString("status")),
+                    rs.getDate("start_date").toLocalDate(), rs.getDate("end_date").toLocalDate());
+        }, organizationId);
+        leaveBalanceLedger.overwrite(totals);
+    }
+}
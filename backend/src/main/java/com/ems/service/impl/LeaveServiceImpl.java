@@ -1,29 +1,68 @@
 package com.ems.service.impl;
 
+import com.ems.balance.LeaveBalanceDeltas;
+import com.ems.balance.LeaveBalanceLedger;
+import com.ems.calendar.WorkingCalendars;
 import com.ems.domain.Leave;
 import com.ems.domain.User;
+import com.ems.dto.BulkTransitionResult;
+import com.ems.dto.LeaveEventPayload;
+import com.ems.dto.LeaveInterval;
+import com.ems.dto.LeaveSummary;
+import com.ems.dto.UserPlacement;
+import com.ems.index.LeaveIntervalIndex;
+import com.ems.index.ReportingLineIndex;
+import com.ems.outbox.DomainEventType;
+import com.ems.outbox.OutboxPublisher;
 import com.ems.repository.LeaveRepository;
+import com.ems.repository.UserRepository;
 import com.ems.service.LeaveService;
+import com.ems.service.UpdateConflictException;
+import com.ems.support.ConflictRetry;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class LeaveServiceImpl implements LeaveService {
     private final LeaveRepository leaveRepository;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final UserRepository userRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final ConflictRetry conflictRetry;
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final WorkingCalendars workingCalendars;
+    private final ReportingLineIndex reportingLineIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     public Leave createLeaveRequest(Leave leave) {
+        validateDateRange(leave.getStartDate(), leave.getEndDate());
         if (hasOverlappingLeave(leave.getUser(), leave.getStartDate(), leave.getEndDate())) {
             throw new IllegalStateException("Employee already has an approved leave for the specified date range");
         }
-        return leaveRepository.save(leave);
+        place(leave);
+        validateWorkingDays(leave);
+        leaveBalanceLedger.reserve(leave);
+        Leave saved = leaveRepository.save(leave);
+        leaveIntervalIndex.index(saved);
+        publish(DomainEventType.LEAVE_REQUESTED, saved);
+        return saved;
     }
 
     @Override
@@ -32,44 +71,67 @@ public class LeaveServiceImpl implements LeaveService {
         if (existingLeave.getStatus() != Leave.LeaveStatus.PENDING) {
             throw new IllegalStateException("Can only update pending leave requests");
         }
+        validateDateRange(leave.getStartDate(), leave.getEndDate());
         leave.setId(id);
-        return leaveRepository.save(leave);
+        if (leave.getVersion() == null) {
+            leave.setVersion(existingLeave.getVersion());
+        }
+        place(leave);
+        validateWorkingDays(leave);
+        leaveBalanceLedger.apply(new LeaveBalanceDeltas(workingCalendars).release(existingLeave));
+        leaveBalanceLedger.reserve(leave);
+        Leave saved;
+        try {
+            saved = leaveRepository.saveAndFlush(leave);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new UpdateConflictException("Leave " + id + " was modified concurrently", e);
+        }
+        leaveIntervalIndex.index(saved);
+        publish(DomainEventType.LEAVE_UPDATED, saved);
+        return saved;
     }
 
     @Override
     public Leave approveLeaveRequest(Long id, User approver, String comments) {
-        Leave leave = getLeaveById(id);
-        if (leave.getStatus() != Leave.LeaveStatus.PENDING) {
-            throw new IllegalStateException("Can only approve pending leave requests");
-        }
-        leave.setStatus(Leave.LeaveStatus.APPROVED);
-        leave.setApprovedBy(approver);
-        leave.setApprovalDate(LocalDate.now());
-        leave.setComments(comments);
-        return leaveRepository.save(leave);
+        return transitionPendingLeave(id, Leave.LeaveStatus.APPROVED, approver, comments);
     }
 
     @Override
     public Leave rejectLeaveRequest(Long id, User approver, String comments) {
-        Leave leave = getLeaveById(id);
-        if (leave.getStatus() != Leave.LeaveStatus.PENDING) {
-            throw new IllegalStateException("Can only reject pending leave requests");
-        }
-        leave.setStatus(Leave.LeaveStatus.REJECTED);
-        leave.setApprovedBy(approver);
-        leave.setApprovalDate(LocalDate.now());
-        leave.setComments(comments);
-        return leaveRepository.save(leave);
+        return transitionPendingLeave(id, Leave.LeaveStatus.REJECTED, approver, comments);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkTransitionResult approveLeaveRequests(Set<Long> ids, User approver, String comments) {
+        return conflictRetry.execute(
+                () -> transitionPendingLeaves(ids, Leave.LeaveStatus.APPROVED, approver, comments));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkTransitionResult rejectLeaveRequests(Set<Long> ids, User approver, String comments) {
+        return conflictRetry.execute(
+                () -> transitionPendingLeaves(ids, Leave.LeaveStatus.REJECTED, approver, comments));
     }
 
     @Override
     public Leave cancelLeaveRequest(Long id) {
-        Leave leave = getLeaveById(id);
-        if (leave.getStatus() == Leave.LeaveStatus.CANCELLED) {
+        Leave.LeaveStatus previousStatus = getLeaveById(id).getStatus();
+        if (previousStatus == Leave.LeaveStatus.CANCELLED) {
             throw new IllegalStateException("Leave request is already cancelled");
         }
-        leave.setStatus(Leave.LeaveStatus.CANCELLED);
-        return leaveRepository.save(leave);
+        // Guarded on the status just read, so the balance is refunded for exactly the state that was left.
+        int cancelled = leaveRepository.cancel(id, previousStatus, Leave.LeaveStatus.CANCELLED);
+        Leave leave = getLeaveById(id);
+        if (cancelled == 0) {
+            throw new UpdateConflictException("Leave " + id + " changed from " + previousStatus
+                    + " to " + leave.getStatus() + " while being cancelled");
+        }
+        leaveBalanceLedger.apply(new LeaveBalanceDeltas(workingCalendars).withdraw(leave, previousStatus));
+        leaveIntervalIndex.evict(id);
+        publish(DomainEventType.LEAVE_CANCELLED, leave);
+        return leave;
     }
 
     @Override
@@ -105,9 +167,86 @@ public class LeaveServiceImpl implements LeaveService {
 
     @Override
     @Transactional(readOnly = true)
+    public List<Leave> getLeavesByUser(User user, Long afterId, int limit) {
+        return leaveRepository.findByUserAndIdGreaterThanOrderByIdAsc(
+                user, KeysetPaging.startAfter(afterId), KeysetPaging.limit(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Leave> getLeavesByStatus(Leave.LeaveStatus status, Long afterId, int limit) {
+        return leaveRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                status, KeysetPaging.startAfter(afterId), KeysetPaging.limit(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LeaveSummary> getLeaveSummariesByStatus(Leave.LeaveStatus status, Long afterId, int limit) {
+        return leaveRepository.findSummariesByStatus(
+                status, KeysetPaging.startAfter(afterId), KeysetPaging.limit(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LeaveSummary> getLeaveSummariesByDepartmentAndStatus(Long departmentId, Leave.LeaveStatus status,
+                                                                     Long afterId, int limit) {
+        return leaveRepository.findSummariesByDepartmentIdAndStatus(
+                departmentId, status, KeysetPaging.startAfter(afterId), KeysetPaging.limit(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LeaveSummary> getApprovalQueue(Long managerId, boolean includeSkipLevel, Long afterId, int limit) {
+        Set<Long> departmentIds = reportingLineIndex.departmentsManagedBy(managerId, includeSkipLevel);
+        if (departmentIds.isEmpty()) {
+            return List.of();
+        }
+        return leaveRepository.findApprovalQueue(departmentIds, managerId, Leave.LeaveStatus.PENDING,
+                KeysetPaging.startAfter(afterId), KeysetPaging.limit(limit));
+    }
+
+    // Leaves are handed over one detached chunk at a time, each read in its own short transaction.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachLeaveChunkByUser(User user, int chunkSize, Consumer<List<Leave>> consumer) {
+        KeysetPaging.forEachEntityChunk(entityManager,
+                (afterId, page) -> leaveRepository.findByUserAndIdGreaterThanOrderByIdAsc(user, afterId, page),
+                Leave::getId, chunkSize, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachLeaveChunkByStatus(Leave.LeaveStatus status, int chunkSize, Consumer<List<Leave>> consumer) {
+        KeysetPaging.forEachEntityChunk(entityManager,
+                (afterId, page) -> leaveRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, page),
+                Leave::getId, chunkSize, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean hasOverlappingLeave(User user, LocalDate startDate, LocalDate endDate) {
-        return leaveRepository.existsByUserAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
-                user, endDate, startDate);
+        validateDateRange(startDate, endDate);
+        return leaveIntervalIndex.hasOverlap(user.getId(), startDate, endDate);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<LeaveInterval> getDepartmentAbsences(Long departmentId, LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        return leaveIntervalIndex.findByDepartment(departmentId, from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int countWorkingDays(Leave leave) {
+        Long organizationId = leave.getOrganizationId();
+        if (organizationId == null && leave.getUser() != null && leave.getUser().getId() != null) {
+            organizationId = userRepository.findPlacementsByIdIn(List.of(leave.getUser().getId())).stream()
+                    .findFirst()
+                    .map(UserPlacement::organizationId)
+                    .orElse(null);
+        }
+        return workingCalendars.workingDays(organizationId, leave.getStartDate(), leave.getEndDate());
     }
 
     @Override
@@ -116,6 +255,91 @@ public class LeaveServiceImpl implements LeaveService {
         if (leave.getStatus() != Leave.LeaveStatus.PENDING) {
             throw new IllegalStateException("Can only delete pending leave requests");
         }
+        leaveBalanceLedger.apply(new LeaveBalanceDeltas(workingCalendars).release(leave));
         leaveRepository.deleteById(id);
+        leaveIntervalIndex.evict(id);
+        publish(DomainEventType.LEAVE_DELETED, leave);
+    }
+
+    private void publish(DomainEventType eventType, Leave leave) {
+        outboxPublisher.publish(eventType, leave.getId(), leave.getOrganizationId(), LeaveEventPayload.of(leave));
+    }
+
+    private static void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start and end date are required");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+    }
+
+    private void validateWorkingDays(Leave leave) {
+        if (workingCalendars.workingDays(leave.getOrganizationId(), leave.getStartDate(), leave.getEndDate()) == 0) {
+            throw new IllegalArgumentException("Leave does not cover any working day");
+        }
+    }
+
+    private void place(Leave leave) {
+        Long userId = leave.getUser().getId();
+        UserPlacement placement = userRepository.findPlacementsByIdIn(List.of(userId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
+        leave.setOrganizationId(placement.organizationId());
+        leave.setDepartmentId(placement.departmentId());
+    }
+
+    private Leave transitionPendingLeave(Long id, Leave.LeaveStatus target, User approver, String comments) {
+        boolean approve = target == Leave.LeaveStatus.APPROVED;
+        int updated = leaveRepository.transitionStatus(List.of(id), Leave.LeaveStatus.PENDING, target,
+                approver, LocalDate.now(), comments);
+        Leave leave = getLeaveById(id);
+        if (updated == 0) {
+            throw new UpdateConflictException("Can only " + (approve ? "approve" : "reject")
+                    + " pending leave requests; leave " + id + " is " + leave.getStatus());
+        }
+        leaveBalanceLedger.apply(approve
+                ? new LeaveBalanceDeltas(workingCalendars).approve(leave)
+                : new LeaveBalanceDeltas(workingCalendars).release(leave));
+        leaveIntervalIndex.updateStatus(List.of(id), target);
+        publish(approve ? DomainEventType.LEAVE_APPROVED : DomainEventType.LEAVE_REJECTED, leave);
+        return leave;
+    }
+
+    private BulkTransitionResult transitionPendingLeaves(Set<Long> ids, Leave.LeaveStatus target,
+                                                       User approver, String comments) {
+        if (ids.isEmpty()) {
+            return new BulkTransitionResult();
+        }
+        List<Leave> pending = leaveRepository.findByIdInAndStatus(ids, Leave.LeaveStatus.PENDING);
+        List<Long> pendingIds = pending.stream().map(Leave::getId).collect(Collectors.toList());
+        if (!pendingIds.isEmpty()) {
+            DomainEventType eventType = target == Leave.LeaveStatus.APPROVED
+                    ? DomainEventType.LEAVE_APPROVED
+                    : DomainEventType.LEAVE_REJECTED;
+            Long approverId = approver != null ? approver.getId() : null;
+            LeaveBalanceDeltas balances = new LeaveBalanceDeltas(workingCalendars);
+            for (Leave leave : pending) {
+                if (target == Leave.LeaveStatus.APPROVED) {
+                    balances.approve(leave);
+                } else {
+                    balances.release(leave);
+                }
+                outboxPublisher.publish(eventType, leave.getId(), leave.getOrganizationId(),
+                        LeaveEventPayload.of(leave).transitioned(target, approverId, comments));
+            }
+            int updated = leaveRepository.transitionStatus(pendingIds, Leave.LeaveStatus.PENDING, target,
+                    approver, LocalDate.now(), comments);
+            if (updated != pendingIds.size()) {
+                throw new UpdateConflictException((pendingIds.size() - updated)
+                        + " leave request(s) changed while being " + target.name().toLowerCase());
+            }
+            leaveBalanceLedger.apply(balances);
+            leaveIntervalIndex.updateStatus(pendingIds, target);
+        }
+        List<Long> existingIds = pendingIds.size() == ids.size()
+                ? pendingIds
+                : leaveRepository.findExistingIds(ids);
+        return BulkTransitionResult.of(ids, Set.copyOf(pendingIds), Set.copyOf(existingIds));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,401 @@
+package com.ems.service.impl;
+
+import com.ems.cache.ReferenceDataCache;
+import com.ems.domain.ImportCheckpoint;
+import com.ems.domain.Organization;
+import com.ems.dto.DirectoryEntry;
+import com.ems.dto.TenantImportReport;
+import com.ems.dto.UserPlacement;
+import com.ems.index.EmployeeDirectoryIndex;
+import com.ems.index.ReportingLineIndex;
+import com.ems.onboarding.CsvRecordReader;
+import com.ems.repository.ImportCheckpointRepository;
+import com.ems.repository.OrganizationRepository;
+import com.ems.service.TenantImportService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Streams departments and users from CSV into a new organization. Rows are validated
+ * against in-memory sets, password hashes are computed on a pool sized to the cores,
+ * and each chunk is written with JDBC batches in its own transaction together with the
+ * checkpoint that makes the import resumable.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TenantImportServiceImpl implements TenantImportService {
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+    private static final String DEFAULT_ROLE = "ROLE_EMPLOYEE";
+
+    private final OrganizationRepository organizationRepository;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final PlatformTransactionManager transactionManager;
+    private final ReferenceDataCache referenceDataCache;
+    private final ReportingLineIndex reportingLineIndex;
+    private final EmployeeDirectoryIndex employeeDirectoryIndex;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${ems.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${ems.import.hash-threads:0}")
+    private int hashThreads;
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TenantImportReport importTenant(String importId, Organization organization, Long requesterId,
+                                           Reader departmentsCsv, Reader usersCsv) throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ImportRun run = new ImportRun(transaction.execute(
+                status -> startOrResume(importId, organization, requesterId)));
+        ImportCheckpoint checkpoint = run.checkpoint;
+
+        if (checkpoint.getStage() == ImportCheckpoint.Stage.DEPARTMENTS) {
+            importDepartments(run, transaction, departmentsCsv);
+            checkpoint.setStage(ImportCheckpoint.Stage.USERS);
+            transaction.executeWithoutResult(status -> saveCheckpoint(checkpoint));
+            referenceDataCache.evictDepartment(null);
+        }
+        if (checkpoint.getStage() == ImportCheckpoint.Stage.USERS) {
+            importUsers(run, transaction, usersCsv);
+            checkpoint.setStage(ImportCheckpoint.Stage.COMPLETED);
+            transaction.executeWithoutResult(status -> saveCheckpoint(checkpoint));
+        }
+
+        TenantImportReport report = new TenantImportReport(importId, checkpoint.getOrganizationId(),
+                checkpoint.getDepartmentsCreated(), checkpoint.getUsersCreated(), checkpoint.getRejectedRows(),
+                List.copyOf(run.rejections), run.rowsProcessed, run.elapsed());
+        log.info("Import {} finished: {} departments, {} users, {} rejected, {} rows in {} ms ({} rows/s)",
+                importId, report.departmentsCreated(), report.usersCreated(), report.rejectedRows(),
+                report.rowsProcessed(), report.elapsed().toMillis(), Math.round(report.rowsPerSecond()));
+        return report;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImportCheckpoint getImportStatus(String importId, Long requesterId) {
+        return findOwnImport(importId, requesterId)
+                .orElseThrow(() -> new EntityNotFoundException("Import not found with id: " + importId));
+    }
+
+    // Imports are visible only to the admin who started them; anyone else gets the same answer
+    // as for an unknown id, so import ids cannot be probed.
+    private Optional<ImportCheckpoint> findOwnImport(String importId, Long requesterId) {
+        Optional<ImportCheckpoint> checkpoint = importCheckpointRepository.findById(importId);
+        if (checkpoint.isPresent() && !requesterId.equals(checkpoint.get().getCreatedBy())) {
+            throw new EntityNotFoundException("Import not found with id: " + importId);
+        }
+        return checkpoint;
+    }
+
+    private ImportCheckpoint startOrResume(String importId, Organization organization, Long requesterId) {
+        return findOwnImport(importId, requesterId).orElseGet(() -> {
+            if (organization.getSubdomain() != null
+                    && organizationRepository.findBySubdomain(organization.getSubdomain()).isPresent()) {
+                throw new IllegalStateException("Organization with this subdomain already exists");
+            }
+            Organization saved = organizationRepository.save(organization);
+            ImportCheckpoint checkpoint = new ImportCheckpoint();
+            checkpoint.setImportId(importId);
+            checkpoint.setOrganizationId(saved.getId());
+            checkpoint.setCreatedBy(requesterId);
+            checkpoint.setStartedAt(Instant.now());
+            checkpoint.setUpdatedAt(checkpoint.getStartedAt());
+            return importCheckpointRepository.save(checkpoint);
+        });
+    }
+
+    private void importDepartments(ImportRun run, TransactionTemplate transaction, Reader csv) throws IOException {
+        Long organizationId = run.checkpoint.getOrganizationId();
+        Set<String> names = new HashSet<>(jdbcTemplate.queryForList(
+                "select name from departments where organization_id = ?", String.class, organizationId));
+
+        try (CsvRecordReader reader = new CsvRecordReader(csv)) {
+            reader.requireColumns("name");
+            reader.skip(run.checkpoint.getDepartmentRows());
+            List<Object[]> rows = new ArrayList<>(chunkSize);
+            int consumed = 0;
+            CsvRecordReader.CsvRecord record;
+            while ((record = reader.next()) != null) {
+                consumed++;
+                String name = record.get("name");
+                if (name == null) {
+                    run.reject("departments", record, "name is required");
+                } else if (!names.add(name)) {
+                    run.reject("departments", record, "duplicate department name '" + name + "'");
+                } else {
+                    rows.add(new Object[] {name, record.get("description"), organizationId});
+                }
+                if (consumed == chunkSize) {
+                    writeDepartments(run, transaction, rows, consumed);
+                    rows.clear();
+                    consumed = 0;
+                }
+            }
+            if (consumed > 0) {
+                writeDepartments(run, transaction, rows, consumed);
+            }
+        }
+    }
+
+    private void writeDepartments(ImportRun run, TransactionTemplate transaction, List<Object[]> rows, int consumed) {
+        ImportCheckpoint checkpoint = run.checkpoint;
+        transaction.executeWithoutResult(status -> {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "insert into departments (name, description, organization_id) values (?, ?, ?)", rows);
+            }
+            checkpoint.setDepartmentRows(checkpoint.getDepartmentRows() + consumed);
+            checkpoint.setDepartmentsCreated(checkpoint.getDepartmentsCreated() + rows.size());
+            checkpoint.setRejectedRows(checkpoint.getRejectedRows() + run.pendingRejections);
+            saveCheckpoint(checkpoint);
+        });
+        run.chunkDone("departments", consumed, checkpoint.getDepartmentRows());
+    }
+
+    private void importUsers(ImportRun run, TransactionTemplate transaction, Reader csv) throws IOException {
+        Long organizationId = run.checkpoint.getOrganizationId();
+        Map<String, Long> departmentIds = new HashMap<>();
+        jdbcTemplate.query("select id, name from departments where organization_id = ?",
+                rs -> {
+                    departmentIds.put(rs.getString("name"), rs.getLong("id"));
+                }, organizationId);
+        Set<String> emails = new HashSet<>();
+
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService hashPool = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("import-hash-"));
+        try (CsvRecordReader reader = new CsvRecordReader(csv)) {
+            reader.requireColumns("email", "first_name", "last_name");
+            reader.skip(run.checkpoint.getUserRows());
+            List<UserRow> rows = new ArrayList<>(chunkSize);
+            int consumed = 0;
+            CsvRecordReader.CsvRecord record;
+            while ((record = reader.next()) != null) {
+                consumed++;
+                UserRow row = parseUser(run, record, departmentIds, emails);
+                if (row != null) {
+                    rows.add(row);
+                }
+                if (consumed == chunkSize) {
+                    writeUsers(run, transaction, hashPool, organizationId, rows, consumed);
+                    rows.clear();
+                    consumed = 0;
+                }
+            }
+            if (consumed > 0) {
+                writeUsers(run, transaction, hashPool, organizationId, rows, consumed);
+            }
+        } finally {
+            hashPool.shutdownNow();
+        }
+    }
+
+    private UserRow parseUser(ImportRun run, CsvRecordReader.CsvRecord record, Map<String, Long> departmentIds,
+                              Set<String> emails) {
+        String email = record.get("email");
+        String firstName = record.get("first_name");
+        String lastName = record.get("last_name");
+        if (email == null || firstName == null || lastName == null) {
+            run.reject("users", record, "email, first_name and last_name are required");
+            return null;
+        }
+        if (email.indexOf('@') < 1) {
+            run.reject("users", record, "invalid email '" + email + "'");
+            return null;
+        }
+        String department = record.get("department");
+        Long departmentId = null;
+        if (department != null) {
+            departmentId = departmentIds.get(department);
+            if (departmentId == null) {
+                run.reject("users", record, "unknown department '" + department + "'");
+                return null;
+            }
+        }
+        if (!emails.add(email)) {
+            run.reject("users", record, "duplicate email '" + email + "'");
+            return null;
+        }
+        return new UserRow(record.number(), email, record.getUntrimmed("password"), firstName, lastName,
+                record.get("phone_number"), record.get("position"), departmentId, parseRoles(record.get("roles")));
+    }
+
+    private void writeUsers(ImportRun run, TransactionTemplate transaction, ExecutorService hashPool,
+                            Long organizationId, List<UserRow> rows, int consumed) {
+        // Emails already in the database (other tenants, or rows committed by an earlier run)
+        // are checked once per chunk rather than once per row.
+        Set<String> existing = rows.isEmpty() ? Set.of() : new HashSet<>(jdbcTemplate.queryForList(
+                "select email from users where email = any(?)", String.class,
+                (Object) rows.stream().map(UserRow::email).toArray(String[]::new)));
+        List<UserRow> accepted = new ArrayList<>(rows.size());
+        for (UserRow row : rows) {
+            if (existing.contains(row.email())) {
+                run.rejectedRow("users", row.number(), "email '" + row.email() + "' is already registered");
+            } else {
+                accepted.add(row);
+            }
+        }
+        List<String> hashes = hashPasswords(hashPool, accepted);
+
+        List<Object[]> userArgs = new ArrayList<>(accepted.size());
+        Map<String, List<String>> emailsByRole = new LinkedHashMap<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            UserRow row = accepted.get(i);
+            userArgs.add(new Object[] {row.email(), hashes.get(i), row.firstName(), row.lastName(),
+                    row.phoneNumber(), row.position(), organizationId, row.departmentId()});
+            for (String role : row.roles()) {
+                emailsByRole.computeIfAbsent(role, r -> new ArrayList<>()).add(row.email());
+            }
+        }
+
+        ImportCheckpoint checkpoint = run.checkpoint;
+        transaction.executeWithoutResult(status -> {
+            if (!userArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate("insert into users (email, password, first_name, last_name, phone_number, "
+                        + "position, organization_id, department_id, enabled) values (?, ?, ?, ?, ?, ?, ?, ?, true)",
+                        userArgs);
+                emailsByRole.forEach((role, roleEmails) -> jdbcTemplate.update(
+                        "insert into user_roles (user_id, role) select id, ? from users where email = any(?)",
+                        role, roleEmails.toArray(String[]::new)));
+                List<DirectoryEntry> created = jdbcTemplate.query(
+                        "select u.id, u.first_name, u.last_name, u.email, u.position, u.department_id, d.name "
+                                + "from users u left join departments d on d.id = u.department_id "
+                                + "where u.email = any(?)",
+                        (rs, i) -> new DirectoryEntry(rs.getLong(1), organizationId, rs.getString(2), rs.getString(3),
+                                rs.getString(4), rs.getString(5), rs.getObject(6, Long.class), rs.getString(7)),
+                        (Object) accepted.stream().map(UserRow::email).toArray(String[]::new));
+                employeeDirectoryIndex.put(created);
+                reportingLineIndex.placeEmployees(created.stream()
+                        .filter(entry -> entry.departmentId() != null)
+                        .map(entry -> new UserPlacement(entry.userId(), organizationId, entry.departmentId()))
+                        .collect(Collectors.toList()));
+            }
+            checkpoint.setUserRows(checkpoint.getUserRows() + consumed);
+            checkpoint.setUsersCreated(checkpoint.getUsersCreated() + accepted.size());
+            checkpoint.setRejectedRows(checkpoint.getRejectedRows() + run.pendingRejections);
+            saveCheckpoint(checkpoint);
+        });
+        run.chunkDone("users", consumed, checkpoint.getUserRows());
+    }
+
+    private List<String> hashPasswords(ExecutorService hashPool, List<UserRow> rows) {
+        List<Callable<String>> tasks = new ArrayList<>(rows.size());
+        for (UserRow row : rows) {
+            // Users imported without a password get an unguessable one and have to reset it.
+            String password = row.password() != null ? row.password() : randomPassword();
+            tasks.add(() -> passwordEncoder.encode(password));
+        }
+        try {
+            List<String> hashes = new ArrayList<>(tasks.size());
+            for (Future<String> hash : hashPool.invokeAll(tasks)) {
+                hashes.add(hash.get());
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private String randomPassword() {
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private void saveCheckpoint(ImportCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(Instant.now());
+        importCheckpointRepository.save(checkpoint);
+    }
+
+    private static Set<String> parseRoles(String roles) {
+        if (roles == null) {
+            return Set.of(DEFAULT_ROLE);
+        }
+        Set<String> parsed = new HashSet<>();
+        for (String role : roles.split("[;|]")) {
+            String name = role.trim().toUpperCase(Locale.ROOT);
+            if (!name.isEmpty()) {
+                parsed.add(name.startsWith("ROLE_") ? name : "ROLE_" + name);
+            }
+        }
+        return parsed.isEmpty() ? Set.of(DEFAULT_ROLE) : parsed;
+    }
+
+    private record UserRow(long number, String email, String password, String firstName, String lastName,
+                           String phoneNumber, String position, Long departmentId, Set<String> roles) {
+    }
+
+    private static final class ImportRun {
+        private final ImportCheckpoint checkpoint;
+        private final List<String> rejections = new ArrayList<>();
+        private final long startedAt = System.nanoTime();
+        private long rowsProcessed;
+        private long pendingRejections;
+
+        ImportRun(ImportCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+
+        void reject(String file, CsvRecordReader.CsvRecord record, String reason) {
+            rejectedRow(file, record.number(), reason);
+        }
+
+        void rejectedRow(String file, long number, String reason) {
+            pendingRejections++;
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(file + " record " + number + ": " + reason);
+            }
+        }
+
+        void chunkDone(String file, int consumed, long position) {
+            rowsProcessed += consumed;
+            pendingRejections = 0;
+            Duration elapsed = elapsed();
+            log.info("Import {}: {} rows processed (at {} record {}), {} rows/s", checkpoint.getImportId(),
+                    rowsProcessed, file, position, Math.round(rowsProcessed * 1000.0 / Math.max(1, elapsed.toMillis())));
+        }
+
+        Duration elapsed() {
+            return Duration.ofNanos(System.nanoTime() - startedAt);
+        }
+    }
+}
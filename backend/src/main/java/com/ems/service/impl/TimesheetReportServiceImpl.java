@@ -0,0 +1,74 @@
+package com.ems.service.impl;
+
+import com.ems.domain.Timesheet;
+import com.ems.domain.TimesheetRollup;
+import com.ems.dto.DepartmentHours;
+import com.ems.repository.TimesheetRepository;
+import com.ems.repository.TimesheetRollupRepository;
+import com.ems.rollup.TimesheetRollupDeltas;
+import com.ems.rollup.TimesheetRollupEntry;
+import com.ems.rollup.TimesheetRollupWriter;
+import com.ems.service.TimesheetReportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TimesheetReportServiceImpl implements TimesheetReportService {
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final TimesheetRepository timesheetRepository;
+    private final TimesheetRollupRepository timesheetRollupRepository;
+    private final TimesheetRollupWriter timesheetRollupWriter;
+
+    @Value("${ems.rollups.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfRequested() {
+        if (rebuildOnStartup) {
+            rebuildRollups();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DepartmentHours> getApprovedHoursByDepartment(Long organizationId, int year, int quarter) {
+        if (quarter < 1 || quarter > 4) {
+            throw new IllegalArgumentException("Quarter must be between 1 and 4");
+        }
+        LocalDate firstMonth = LocalDate.of(year, (quarter - 1) * 3 + 1, 1);
+        return timesheetRollupRepository.sumDepartmentHours(
+                organizationId, Timesheet.TimesheetStatus.APPROVED, firstMonth, firstMonth.plusMonths(2));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimesheetRollup> getRollupSeries(TimesheetRollup.Dimension dimension, Long organizationId,
+                                                 String rollupKey, Timesheet.TimesheetStatus status,
+                                                 LocalDate from, LocalDate to) {
+        return timesheetRollupRepository.findSeries(dimension, organizationId, rollupKey, status, from, to);
+    }
+
+    // Recomputes every row from the timesheets in one transaction. Only the aggregated
+    // totals are held in memory, so the cost is one keyset scan plus O(groups) writes.
+    @Override
+    public void rebuildRollups() {
+        timesheetRollupWriter.clear();
+        TimesheetRollupDeltas totals = new TimesheetRollupDeltas();
+        KeysetPaging.forEachChunk(timesheetRepository::findRollupEntries, TimesheetRollupEntry::timesheetId,
+                REBUILD_CHUNK_SIZE, totals::add);
+        timesheetRollupWriter.apply(totals);
+        log.info("Rebuilt timesheet rollups");
+    }
+}
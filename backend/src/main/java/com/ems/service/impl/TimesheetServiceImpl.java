@@ -1,27 +1,106 @@
 package com.ems.service.impl;
 
+import com.ems.calendar.WorkingCalendars;
 import com.ems.domain.Timesheet;
 import com.ems.domain.User;
+import com.ems.dto.BulkTransitionResult;
+import com.ems.dto.ProjectUsage;
+import com.ems.dto.TimesheetEventPayload;
+import com.ems.dto.TimesheetSummary;
+import com.ems.dto.UserPlacement;
+import com.ems.index.ProjectNameIndex;
+import com.ems.index.ReportingLineIndex;
+import com.ems.outbox.DomainEventType;
+import com.ems.outbox.OutboxPublisher;
 import com.ems.repository.TimesheetRepository;
+import com.ems.repository.UserRepository;
+import com.ems.rollup.TimesheetRollupDeltas;
+import com.ems.rollup.TimesheetRollupEntry;
+import com.ems.rollup.TimesheetRollupWriter;
 import com.ems.service.TimesheetService;
+import com.ems.service.UpdateConflictException;
+import com.ems.support.ConflictRetry;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TimesheetServiceImpl implements TimesheetService {
     private final TimesheetRepository timesheetRepository;
+    private final UserRepository userRepository;
+    private final TimesheetRollupWriter timesheetRollupWriter;
+    private final OutboxPublisher outboxPublisher;
+    private final ConflictRetry conflictRetry;
+    private final WorkingCalendars workingCalendars;
+    private final ReportingLineIndex reportingLineIndex;
+    private final ProjectNameIndex projectNameIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${ems.timesheets.working-days-only:false}")
+    private boolean workingDaysOnly;
 
     @Override
     public Timesheet createTimesheet(Timesheet timesheet) {
+        place(List.of(timesheet));
         validateTimesheet(timesheet);
-        return timesheetRepository.save(timesheet);
+        validateNoOverlaps(List.of(timesheet));
+        Timesheet saved = timesheetRepository.save(timesheet);
+        timesheetRollupWriter.apply(new TimesheetRollupDeltas().add(List.of(TimesheetRollupEntry.of(saved))));
+        projectNameIndex.add(List.of(saved));
+        publish(DomainEventType.TIMESHEET_SUBMITTED, saved);
+        return saved;
+    }
+
+    @Override
+    public List<Timesheet> createTimesheets(List<Timesheet> timesheets) {
+        if (timesheets.isEmpty()) {
+            return List.of();
+        }
+        place(timesheets);
+        timesheets.forEach(this::validateTimesheet);
+        validateNoOverlaps(timesheets);
+        timesheetRollupWriter.apply(new TimesheetRollupDeltas().add(
+                timesheets.stream().map(TimesheetRollupEntry::of).collect(Collectors.toList())));
+        projectNameIndex.add(timesheets);
+
+        // Flushing and clearing per JDBC batch keeps the persistence context small and lets
+        // Hibernate send each slice as a single batched insert with pre-allocated ids.
+        List<Timesheet> saved = new ArrayList<>(timesheets.size());
+        for (int from = 0; from < timesheets.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, timesheets.size());
+            List<Timesheet> slice = timesheetRepository.saveAll(timesheets.subList(from, to));
+            slice.forEach(timesheet -> publish(DomainEventType.TIMESHEET_SUBMITTED, timesheet));
+            saved.addAll(slice);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return saved;
     }
 
     @Override
@@ -30,35 +109,53 @@ public class TimesheetServiceImpl implements TimesheetService {
         if (existingTimesheet.getStatus() != Timesheet.TimesheetStatus.PENDING) {
             throw new IllegalStateException("Can only update pending timesheet entries");
         }
-        validateTimesheet(timesheet);
+        TimesheetRollupEntry before = TimesheetRollupEntry.of(existingTimesheet);
+        ProjectUsage removedProject =
+                new ProjectUsage(existingTimesheet.getOrganizationId(), existingTimesheet.getProject(), -1);
         timesheet.setId(id);
-        return timesheetRepository.save(timesheet);
+        if (timesheet.getVersion() == null) {
+            timesheet.setVersion(existingTimesheet.getVersion());
+        }
+        place(List.of(timesheet));
+        validateTimesheet(timesheet);
+        validateNoOverlaps(List.of(timesheet));
+        Timesheet saved;
+        try {
+            saved = timesheetRepository.saveAndFlush(timesheet);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new UpdateConflictException("Timesheet " + id + " was modified concurrently", e);
+        }
+        timesheetRollupWriter.apply(new TimesheetRollupDeltas()
+                .subtract(List.of(before))
+                .add(List.of(TimesheetRollupEntry.of(saved))));
+        projectNameIndex.apply(List.of(removedProject,
+                new ProjectUsage(saved.getOrganizationId(), saved.getProject(), 1)));
+        publish(DomainEventType.TIMESHEET_UPDATED, saved);
+        return saved;
     }
 
     @Override
     public Timesheet approveTimesheet(Long id, User approver, String comments) {
-        Timesheet timesheet = getTimesheetById(id);
-        if (timesheet.getStatus() != Timesheet.TimesheetStatus.PENDING) {
-            throw new IllegalStateException("Can only approve pending timesheet entries");
-        }
-        timesheet.setStatus(Timesheet.TimesheetStatus.APPROVED);
-        timesheet.setApprovedBy(approver);
-        timesheet.setApprovalDate(LocalDate.now());
-        timesheet.setComments(comments);
-        return timesheetRepository.save(timesheet);
+        return transitionPendingTimesheet(id, Timesheet.TimesheetStatus.APPROVED, approver, comments);
     }
 
     @Override
     public Timesheet rejectTimesheet(Long id, User approver, String comments) {
-        Timesheet timesheet = getTimesheetById(id);
-        if (timesheet.getStatus() != Timesheet.TimesheetStatus.PENDING) {
-            throw new IllegalStateException("Can only reject pending timesheet entries");
-        }
-        timesheet.setStatus(Timesheet.TimesheetStatus.REJECTED);
-        timesheet.setApprovedBy(approver);
-        timesheet.setApprovalDate(LocalDate.now());
-        timesheet.setComments(comments);
-        return timesheetRepository.save(timesheet);
+        return transitionPendingTimesheet(id, Timesheet.TimesheetStatus.REJECTED, approver, comments);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkTransitionResult approveTimesheets(Set<Long> ids, User approver, String comments) {
+        return conflictRetry.execute(
+                () -> transitionPendingTimesheets(ids, Timesheet.TimesheetStatus.APPROVED, approver, comments));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkTransitionResult rejectTimesheets(Set<Long> ids, User approver, String comments) {
+        return conflictRetry.execute(
+                () -> transitionPendingTimesheets(ids, Timesheet.TimesheetStatus.REJECTED, approver, comments));
     }
 
     @Override
@@ -101,7 +198,111 @@ public class TimesheetServiceImpl implements TimesheetService {
     @Override
     @Transactional(readOnly = true)
     public List<Timesheet> getTimesheetsByProject(String project) {
-        return timesheetRepository.findByProjectContainingIgnoreCase(project);
+        return timesheetRepository.findByProjectPattern(containsPattern(project));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Timesheet> getTimesheetsByUser(User user, Long afterId, int limit) {
+        return timesheetRepository.findByUserAndIdGreaterThanOrderByIdAsc(
+                user, KeysetPaging.startAfter(afterId), KeysetPaging.limit(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Timesheet> getTimesheetsByStatus(Timesheet.TimesheetStatus status, Long afterId, int limit) {
+        return timesheetRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                status, KeysetPaging.startAfter(afterId), KeysetPaging.limit(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Timesheet> getTimesheetsByProject(String project, Long afterId, int limit) {
+        return timesheetRepository.findByProjectPatternAfter(
+                containsPattern(project), KeysetPaging.startAfter(afterId), KeysetPaging.limit(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimesheetSummary> searchTimesheets(Long organizationId, String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        List<Long> ids = timesheetRepository.searchIds(organizationId, query, KeysetPaging.limit(size).withPage(page));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TimesheetSummary> byId = timesheetRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TimesheetSummary::id, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<String> suggestProjects(Long organizationId, String prefix, int limit) {
+        int pageSize = KeysetPaging.pageSize(limit);
+        if (prefix == null) {
+            return List.of();
+        }
+        return projectNameIndex.suggest(organizationId, prefix, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimesheetSummary> getTimesheetSummariesByStatus(Timesheet.TimesheetStatus status,
+                                                                Long afterId, int limit) {
+        return timesheetRepository.findSummariesByStatus(
+                status, KeysetPaging.startAfter(afterId), KeysetPaging.limit(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimesheetSummary> getTimesheetSummariesByDepartmentAndStatus(Long departmentId,
+                                                                             Timesheet.TimesheetStatus status,
+                                                                             Long afterId, int limit) {
+        return timesheetRepository.findSummariesByDepartmentIdAndStatus(
+                departmentId, status, KeysetPaging.startAfter(afterId), KeysetPaging.limit(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimesheetSummary> getApprovalQueue(Long managerId, boolean includeSkipLevel, Long afterId, int limit) {
+        Set<Long> departmentIds = reportingLineIndex.departmentsManagedBy(managerId, includeSkipLevel);
+        if (departmentIds.isEmpty()) {
+            return List.of();
+        }
+        return timesheetRepository.findApprovalQueue(departmentIds, managerId, Timesheet.TimesheetStatus.PENDING,
+                KeysetPaging.startAfter(afterId), KeysetPaging.limit(limit));
+    }
+
+    // Chunks are read in separate short transactions and detached before the consumer sees them.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachTimesheetChunkByUser(User user, int chunkSize, Consumer<List<Timesheet>> consumer) {
+        KeysetPaging.forEachEntityChunk(entityManager,
+                (afterId, page) -> timesheetRepository.findByUserAndIdGreaterThanOrderByIdAsc(user, afterId, page),
+                Timesheet::getId, chunkSize, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachTimesheetChunkByStatus(Timesheet.TimesheetStatus status, int chunkSize,
+                                              Consumer<List<Timesheet>> consumer) {
+        KeysetPaging.forEachEntityChunk(entityManager,
+                (afterId, page) -> timesheetRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, page),
+                Timesheet::getId, chunkSize, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachTimesheetChunkByProject(String project, int chunkSize, Consumer<List<Timesheet>> consumer) {
+        String pattern = containsPattern(project);
+        KeysetPaging.forEachEntityChunk(entityManager,
+                (afterId, page) -> timesheetRepository.findByProjectPatternAfter(pattern, afterId, page),
+                Timesheet::getId, chunkSize, consumer);
     }
 
     @Override
@@ -110,12 +311,145 @@ public class TimesheetServiceImpl implements TimesheetService {
         if (timesheet.getStatus() != Timesheet.TimesheetStatus.PENDING) {
             throw new IllegalStateException("Can only delete pending timesheet entries");
         }
+        timesheetRollupWriter.apply(new TimesheetRollupDeltas().subtract(List.of(TimesheetRollupEntry.of(timesheet))));
+        projectNameIndex.remove(List.of(timesheet));
         timesheetRepository.deleteById(id);
+        publish(DomainEventType.TIMESHEET_DELETED, timesheet);
+    }
+
+    private static String containsPattern(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
     }
 
     private void validateTimesheet(Timesheet timesheet) {
         if (timesheet.getStartTime().isAfter(timesheet.getEndTime())) {
             throw new IllegalArgumentException("Start time must be before end time");
         }
+        if (workingDaysOnly && !workingCalendars.isWorkingDay(timesheet.getOrganizationId(), timesheet.getDate())) {
+            throw new IllegalArgumentException(timesheet.getDate() + " is not a working day");
+        }
+    }
+
+    private void validateNoOverlaps(List<Timesheet> timesheets) {
+        LocalDate from = timesheets.stream().map(Timesheet::getDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = timesheets.stream().map(Timesheet::getDate).max(Comparator.naturalOrder()).orElseThrow();
+        List<Long> userIds = timesheets.stream()
+                .map(timesheet -> timesheet.getUser().getId())
+                .distinct()
+                .collect(Collectors.toList());
+        // An entry being updated replaces its stored version instead of overlapping it.
+        Set<Long> replacedIds = timesheets.stream()
+                .map(Timesheet::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<UserDay, List<Timesheet>> entriesByUserDay = new HashMap<>();
+        for (Timesheet existing : timesheetRepository.findByUserIdInAndDateBetween(userIds, from, to)) {
+            if (existing.getStatus() != Timesheet.TimesheetStatus.REJECTED && !replacedIds.contains(existing.getId())) {
+                entriesByUserDay.computeIfAbsent(UserDay.of(existing), key -> new ArrayList<>()).add(existing);
+            }
+        }
+        for (Timesheet timesheet : timesheets) {
+            entriesByUserDay.computeIfAbsent(UserDay.of(timesheet), key -> new ArrayList<>()).add(timesheet);
+        }
+
+        for (Map.Entry<UserDay, List<Timesheet>> entry : entriesByUserDay.entrySet()) {
+            List<Timesheet> entries = entry.getValue();
+            entries.sort(Comparator.comparing(Timesheet::getStartTime));
+            for (int i = 1; i < entries.size(); i++) {
+                if (entries.get(i).getStartTime().isBefore(entries.get(i - 1).getEndTime())) {
+                    throw new IllegalArgumentException("Overlapping timesheet entries for user "
+                            + entry.getKey().userId() + " on " + entry.getKey().date());
+                }
+            }
+        }
+    }
+
+    private void publish(DomainEventType eventType, Timesheet timesheet) {
+        outboxPublisher.publish(eventType, timesheet.getId(), timesheet.getOrganizationId(),
+                TimesheetEventPayload.of(timesheet));
+    }
+
+    private void moveRollups(List<TimesheetRollupEntry> entries, Timesheet.TimesheetStatus target) {
+        timesheetRollupWriter.apply(new TimesheetRollupDeltas()
+                .subtract(entries)
+                .add(entries.stream().map(entry -> entry.withStatus(target)).collect(Collectors.toList())));
+    }
+
+    // Resolves every distinct user of the batch in one query.
+    private void place(List<Timesheet> timesheets) {
+        List<Long> userIds = timesheets.stream()
+                .map(timesheet -> timesheet.getUser().getId())
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, UserPlacement> placements = userRepository.findPlacementsByIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserPlacement::userId, Function.identity()));
+        for (Timesheet timesheet : timesheets) {
+            UserPlacement placement = placements.get(timesheet.getUser().getId());
+            if (placement == null) {
+                throw new EntityNotFoundException("User not found with id: " + timesheet.getUser().getId());
+            }
+            timesheet.setOrganizationId(placement.organizationId());
+            timesheet.setDepartmentId(placement.departmentId());
+        }
+    }
+
+    private Timesheet transitionPendingTimesheet(Long id, Timesheet.TimesheetStatus target,
+                                                 User approver, String comments) {
+        boolean approve = target == Timesheet.TimesheetStatus.APPROVED;
+        int updated = timesheetRepository.transitionStatus(List.of(id), Timesheet.TimesheetStatus.PENDING, target,
+                approver, LocalDate.now(), comments);
+        Timesheet timesheet = getTimesheetById(id);
+        if (updated == 0) {
+            throw new UpdateConflictException("Can only " + (approve ? "approve" : "reject")
+                    + " pending timesheet entries; timesheet " + id + " is " + timesheet.getStatus());
+        }
+        moveRollups(List.of(TimesheetRollupEntry.of(timesheet).withStatus(Timesheet.TimesheetStatus.PENDING)),
+                target);
+        publish(approve ? DomainEventType.TIMESHEET_APPROVED : DomainEventType.TIMESHEET_REJECTED, timesheet);
+        return timesheet;
+    }
+
+    private BulkTransitionResult transitionPendingTimesheets(Set<Long> ids, Timesheet.TimesheetStatus target,
+                                                           User approver, String comments) {
+        if (ids.isEmpty()) {
+            return new BulkTransitionResult();
+        }
+        List<Timesheet> pending = timesheetRepository.findByIdInAndStatus(ids, Timesheet.TimesheetStatus.PENDING);
+        List<Long> pendingIds = pending.stream().map(Timesheet::getId).collect(Collectors.toList());
+        if (!pendingIds.isEmpty()) {
+            List<TimesheetRollupEntry> entries = pending.stream()
+                    .map(TimesheetRollupEntry::of)
+                    .collect(Collectors.toList());
+            DomainEventType eventType = target == Timesheet.TimesheetStatus.APPROVED
+                    ? DomainEventType.TIMESHEET_APPROVED
+                    : DomainEventType.TIMESHEET_REJECTED;
+            Long approverId = approver != null ? approver.getId() : null;
+            for (Timesheet timesheet : pending) {
+                outboxPublisher.publish(eventType, timesheet.getId(), timesheet.getOrganizationId(),
+                        TimesheetEventPayload.of(timesheet).transitioned(target, approverId, comments));
+            }
+            int updated = timesheetRepository.transitionStatus(pendingIds, Timesheet.TimesheetStatus.PENDING,
+                    target, approver, LocalDate.now(), comments);
+            if (updated != pendingIds.size()) {
+                throw new UpdateConflictException((pendingIds.size() - updated)
+                        + " timesheet entries changed while being " + target.name().toLowerCase());
+            }
+            moveRollups(entries, target);
+        }
+        List<Long> existingIds = pendingIds.size() == ids.size()
+                ? pendingIds
+                : timesheetRepository.findExistingIds(ids);
+        return BulkTransitionResult.of(ids, Set.copyOf(pendingIds), Set.copyOf(existingIds));
+    }
+
+    private record UserDay(Long userId, LocalDate date) {
+        static UserDay of(Timesheet timesheet) {
+            return new UserDay(timesheet.getUser().getId(), timesheet.getDate());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.ems.support;
+
+import com.ems.service.UpdateConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs work in a fresh transaction and re-runs it, up to a bounded number of attempts, when it
+ * loses a race and throws {@link UpdateConflictException}. Only for work that re-reads the state
+ * it acts on, so a retry decides again instead of overwriting someone else's change.
+ * <p>
+ * Approvals are the main user. The status-guarded {@code transitionStatus} update is their only
+ * check: whichever manager's statement reaches a row first wins, and the loser sees fewer updated
+ * rows than it read as pending instead of overwriting the decision. A single approval reports that
+ * as a conflict. A bulk one runs outside any caller transaction so that this class owns it; it is
+ * rolled back and run again, so its reported outcomes and published events stay exact.
+ */
+@Slf4j
+@Component
+public class ConflictRetry {
+    private final TransactionTemplate transaction;
+    private final int maxAttempts;
+
+    public ConflictRetry(PlatformTransactionManager transactionManager,
+                         @Value("${ems.concurrency.max-attempts:3}") int maxAttempts) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> work.get());
+            } catch (UpdateConflictException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Retrying after conflict (attempt {} of {}): {}", attempt, maxAttempts, e.getMessage());
+            }
+        }
+    }
+}
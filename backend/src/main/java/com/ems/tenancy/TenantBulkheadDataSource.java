@@ -0,0 +1,109 @@
+package com.ems.tenancy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many pooled connections a single organization can hold at once. Each tenant has
+ * its own permits, taken before a connection is borrowed and returned when it is closed, so
+ * a tenant running heavy reports waits on its own limit while the rest of the pool stays
+ * available to everyone else. Work without a tenant (schedulers, startup) is not limited.
+ */
+@Slf4j
+public class TenantBulkheadDataSource extends DelegatingDataSource {
+    private final int maxConnectionsPerTenant;
+    private final long acquireTimeoutNanos;
+    private final Map<Long, Semaphore> permits = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    public TenantBulkheadDataSource(DataSource target, int maxConnectionsPerTenant, Duration acquireTimeout,
+                                    MeterRegistry meterRegistry) {
+        super(target);
+        this.maxConnectionsPerTenant = maxConnectionsPerTenant;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.rejected = Counter.builder("ems.tenancy.bulkhead.rejected")
+                .description("Connection requests refused because the tenant was at its limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return borrow(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return borrow(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection borrow(ConnectionSupplier supplier) throws SQLException {
+        Long tenant = TenantContext.current();
+        if (tenant == null) {
+            return supplier.get();
+        }
+        Semaphore semaphore = acquire(tenant);
+        try {
+            return releasingOnClose(supplier.get(), semaphore);
+        } catch (SQLException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    private Semaphore acquire(Long tenant) throws SQLException {
+        Semaphore semaphore = permits.computeIfAbsent(tenant, id -> new Semaphore(maxConnectionsPerTenant, true));
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                log.warn("Organization {} is holding {} connections; request refused",
+                        tenant, maxConnectionsPerTenant);
+                throw new SQLTransientConnectionException("Organization " + tenant + " is at its limit of "
+                        + maxConnectionsPerTenant + " concurrent connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+        return semaphore;
+    }
+
+    private static Connection releasingOnClose(Connection connection, Semaphore semaphore) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            semaphore.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
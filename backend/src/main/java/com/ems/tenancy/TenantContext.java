@@ -0,0 +1,34 @@
+package com.ems.tenancy;
+
+/**
+ * The organization the current thread works for. Set per request by {@link TenantFilter};
+ * work handed to another thread has to carry it over with {@link #open(Long)}.
+ */
+public final class TenantContext {
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static Long current() {
+        return CURRENT.get();
+    }
+
+    public static Scope open(Long organizationId) {
+        Long previous = CURRENT.get();
+        CURRENT.set(organizationId);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
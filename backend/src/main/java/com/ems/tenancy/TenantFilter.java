@@ -0,0 +1,34 @@
+package com.ems.tenancy;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Binds the request to its organization for the rest of the filter chain. Runs after the
+ * bearer token has been verified; a token used on another organization's subdomain is refused.
+ */
+@RequiredArgsConstructor
+public class TenantFilter extends OncePerRequestFilter {
+    private final TenantResolver tenantResolver;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<Long> fromToken = tenantResolver.fromToken();
+        Optional<Long> fromHost = tenantResolver.fromHost(request);
+        if (fromToken.isPresent() && fromHost.isPresent() && !fromToken.get().equals(fromHost.get())) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Token does not belong to this organization");
+            return;
+        }
+        try (TenantContext.Scope scope = TenantContext.open(fromToken.or(() -> fromHost).orElse(null))) {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ems.tenancy;
+
+import com.ems.domain.Organization;
+import com.ems.repository.OrganizationRepository;
+import com.ems.security.JwtPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Works out which organization a request belongs to: the oid claim of the bearer token when
+ * the caller is authenticated, otherwise the subdomain of the host it was sent to.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantResolver {
+    private final OrganizationRepository organizationRepository;
+
+    @Value("${ems.tenancy.base-domain:}")
+    private String baseDomain;
+
+    public Optional<Long> fromToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return Optional.ofNullable(principal.organizationId());
+        }
+        return Optional.empty();
+    }
+
+    // Served from the second-level query cache, so this costs no round trip once warm.
+    public Optional<Long> fromHost(HttpServletRequest request) {
+        return subdomain(request.getServerName())
+                .flatMap(organizationRepository::findBySubdomain)
+                .map(Organization::getId);
+    }
+
+    Optional<String> subdomain(String host) {
+        if (baseDomain.isEmpty() || host == null) {
+            return Optional.empty();
+        }
+        String normalized = host.toLowerCase(Locale.ROOT);
+        String suffix = "." + baseDomain.toLowerCase(Locale.ROOT);
+        if (!normalized.endsWith(suffix) || normalized.length() == suffix.length()) {
+            return Optional.empty();
+        }
+        String subdomain = normalized.substring(0, normalized.length() - suffix.length());
+        return subdomain.contains(".") ? Optional.empty() : Optional.of(subdomain);
+    }
+}
@@ -0,0 +1,4 @@
+-- A manager's approval queue reads the pending rows of the departments they manage, in id
+-- order. Partial indexes keep only the pending rows, so each department is a short range scan.
+create index idx_leaves_pending_department_id on leaves (department_id, id) where status = 'PENDING';
+create index idx_timesheets_pending_department_id on timesheets (department_id, id) where status = 'PENDING';
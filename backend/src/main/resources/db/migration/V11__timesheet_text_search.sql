@@ -0,0 +1,9 @@
+-- Project substring search compares lower(project) with a '%...%' pattern, which a B-tree
+-- cannot serve; a trigram index can.
+create extension if not exists pg_trgm;
+
+create index idx_timesheets_project_trgm on timesheets using gin (lower(project) gin_trgm_ops);
+
+-- Ranked search over project and description. Queries must repeat this expression exactly.
+create index idx_timesheets_text_search on timesheets
+    using gin (to_tsvector('english', coalesce(project, '') || ' ' || coalesce(description, '')));
@@ -0,0 +1,3 @@
+-- The admin who started an import; only they can read its status or resume it.
+-- Imports started before this column existed have no owner and are no longer visible.
+alter table import_checkpoints add column created_by bigint;
@@ -0,0 +1,68 @@
+-- Schema as previously generated by ddl-auto=update. Existing databases are baselined
+-- at this version (spring.flyway.baseline-on-migrate) and start from V2.
+
+create table organizations (
+    id bigint generated by default as identity primary key,
+    name varchar(255) not null unique,
+    subdomain varchar(255) unique,
+    address varchar(255),
+    contact_email varchar(255),
+    contact_phone varchar(255)
+);
+
+create table departments (
+    id bigint generated by default as identity primary key,
+    name varchar(255) not null,
+    description varchar(255),
+    organization_id bigint references organizations (id),
+    manager_id bigint
+);
+
+create table users (
+    id bigint generated by default as identity primary key,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    phone_number varchar(255),
+    position varchar(255),
+    organization_id bigint references organizations (id),
+    department_id bigint references departments (id),
+    enabled boolean not null
+);
+
+alter table departments add constraint fk_departments_manager foreign key (manager_id) references users (id);
+
+create table user_roles (
+    user_id bigint not null references users (id),
+    role varchar(255)
+);
+
+create table leaves (
+    id bigint generated by default as identity primary key,
+    user_id bigint not null references users (id),
+    start_date date not null,
+    end_date date not null,
+    type varchar(255) not null,
+    reason varchar(1000),
+    status varchar(255) not null,
+    approved_by bigint references users (id),
+    approval_date date,
+    comments varchar(1000)
+);
+
+create sequence timesheets_seq start with 1 increment by 50;
+
+create table timesheets (
+    id bigint primary key,
+    user_id bigint not null references users (id),
+    date date not null,
+    start_time time not null,
+    end_time time not null,
+    project varchar(500),
+    description varchar(1000),
+    status varchar(255) not null,
+    approved_by bigint references users (id),
+    approval_date date,
+    comments varchar(500)
+);
@@ -0,0 +1,31 @@
+-- Department and organization are copied onto each leave and timesheet so the approval
+-- queues can be served from a composite index instead of a join through users.
+
+alter table leaves add column department_id bigint;
+alter table leaves add column organization_id bigint;
+alter table timesheets add column department_id bigint;
+alter table timesheets add column organization_id bigint;
+
+update leaves l
+set department_id = u.department_id, organization_id = u.organization_id
+from users u
+where u.id = l.user_id;
+
+update timesheets t
+set department_id = u.department_id, organization_id = u.organization_id
+from users u
+where u.id = t.user_id;
+
+create index idx_leaves_department_status_start_date on leaves (department_id, status, start_date);
+create index idx_leaves_user_dates on leaves (user_id, start_date, end_date);
+create index idx_leaves_status_id on leaves (status, id);
+
+create index idx_timesheets_department_status_date on timesheets (department_id, status, date);
+create index idx_timesheets_user_date on timesheets (user_id, date);
+create index idx_timesheets_status_id on timesheets (status, id);
+
+-- Databases created while timesheet ids were identity-generated are baselined at V1 and
+-- have no timesheets_seq yet. The pooled optimizer hands out the 50 ids below each sequence
+-- value, so the next value has to clear the highest existing id by a full block.
+create sequence if not exists timesheets_seq start with 1 increment by 50;
+select setval('timesheets_seq', coalesce((select max(id) from timesheets), 0) + 51, false);
@@ -0,0 +1,53 @@
+-- Pre-aggregated timesheet minutes, maintained incrementally by the application.
+-- The primary key order serves the period-range reports; the secondary index serves
+-- the per-key time series.
+
+create table timesheet_rollups (
+    dimension varchar(32) not null,
+    organization_id bigint not null,
+    rollup_key varchar(500) not null,
+    period_start date not null,
+    status varchar(255) not null,
+    minutes bigint not null,
+    entry_count bigint not null,
+    primary key (dimension, organization_id, status, period_start, rollup_key)
+);
+
+create index idx_timesheet_rollups_key_period
+    on timesheet_rollups (dimension, organization_id, rollup_key, status, period_start);
+
+-- Backfill from existing timesheets. Bucketing must match TimesheetRollupEntry.keys():
+-- ISO weeks starting on Monday, calendar months, organization 0 when missing.
+insert into timesheet_rollups (dimension, organization_id, rollup_key, period_start, status, minutes, entry_count)
+select dimension, organization_id, rollup_key, period_start, status, sum(minutes), count(*)
+from (
+    select 'USER_DAY' as dimension, coalesce(organization_id, 0) as organization_id,
+           cast(user_id as varchar) as rollup_key, date as period_start, status,
+           cast(extract(epoch from (end_time - start_time)) as bigint) / 60 as minutes
+    from timesheets
+    union all
+    select 'USER_WEEK', coalesce(organization_id, 0), cast(user_id as varchar),
+           cast(date_trunc('week', date) as date), status,
+           cast(extract(epoch from (end_time - start_time)) as bigint) / 60
+    from timesheets
+    union all
+    select 'DEPARTMENT_WEEK', coalesce(organization_id, 0), cast(department_id as varchar),
+           cast(date_trunc('week', date) as date), status,
+           cast(extract(epoch from (end_time - start_time)) as bigint) / 60
+    from timesheets
+    where department_id is not null
+    union all
+    select 'DEPARTMENT_MONTH', coalesce(organization_id, 0), cast(department_id as varchar),
+           cast(date_trunc('month', date) as date), status,
+           cast(extract(epoch from (end_time - start_time)) as bigint) / 60
+    from timesheets
+    where department_id is not null
+    union all
+    select 'PROJECT_MONTH', coalesce(organization_id, 0), project,
+           cast(date_trunc('month', date) as date), status,
+           cast(extract(epoch from (end_time - start_time)) as bigint) / 60
+    from timesheets
+    -- Same test as String.isBlank() in TimesheetRollupEntry: trim() only strips spaces.
+    where project ~ '\S'
+) entries
+group by dimension, organization_id, rollup_key, period_start, status;
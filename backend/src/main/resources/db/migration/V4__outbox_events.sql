@@ -0,0 +1,16 @@
+create sequence outbox_events_seq start with 1 increment by 50;
+
+create table outbox_events (
+    id bigint primary key,
+    event_type varchar(64) not null,
+    aggregate_id bigint,
+    organization_id bigint,
+    payload varchar(4000),
+    created_at timestamp(6) with time zone not null,
+    status varchar(32) not null,
+    attempts integer not null,
+    next_attempt_at timestamp(6) with time zone not null,
+    last_error varchar(1000)
+);
+
+create index idx_outbox_events_status_id on outbox_events (status, id);
@@ -0,0 +1,3 @@
+-- Organization-wide date range scans used by the payroll exports.
+create index idx_timesheets_organization_date on timesheets (organization_id, date);
+create index idx_leaves_organization_start_date on leaves (organization_id, start_date);
@@ -0,0 +1,12 @@
+create table import_checkpoints (
+    import_id varchar(64) primary key,
+    organization_id bigint,
+    stage varchar(32) not null,
+    department_rows bigint not null,
+    user_rows bigint not null,
+    departments_created bigint not null,
+    users_created bigint not null,
+    rejected_rows bigint not null,
+    started_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone
+);
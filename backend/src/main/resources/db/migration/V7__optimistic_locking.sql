@@ -0,0 +1,2 @@
+alter table leaves add column version bigint not null default 0;
+alter table timesheets add column version bigint not null default 0;
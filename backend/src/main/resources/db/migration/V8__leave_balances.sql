@@ -0,0 +1,29 @@
+-- Working days booked per user, leave type and year, maintained by the application.
+
+create table leave_balances (
+    user_id bigint not null,
+    leave_type varchar(32) not null,
+    balance_year integer not null,
+    organization_id bigint,
+    entitled_days integer,
+    used_days integer not null,
+    pending_days integer not null,
+    primary key (user_id, leave_type, balance_year)
+);
+
+create index idx_leave_balances_organization on leave_balances (organization_id);
+
+-- Backfill from existing leaves. Day counting must match the default calendar of
+-- WorkingCalendars (Organization.MONDAY_TO_FRIDAY, no holidays; calendars arrive in V9),
+-- charged to the year each day falls in. Entitlements match the shipped defaults of
+-- ems.leave-balances.entitlements.*; uncapped types get null.
+insert into leave_balances (user_id, leave_type, balance_year, organization_id, entitled_days, used_days, pending_days)
+select l.user_id, l.type, cast(extract(year from d.day) as integer), max(l.organization_id),
+       case l.type when 'ANNUAL' then 25 when 'SICK' then 10 when 'PERSONAL' then 5 end,
+       count(*) filter (where l.status = 'APPROVED'),
+       count(*) filter (where l.status = 'PENDING')
+from leaves l
+cross join lateral generate_series(l.start_date, l.end_date, interval '1 day') as d(day)
+where l.status in ('PENDING', 'APPROVED')
+  and extract(isodow from d.day) < 6
+group by l.user_id, l.type, cast(extract(year from d.day) as integer);
@@ -0,0 +1,11 @@
+-- Working week per organization as a weekday bitmask (bit 0 = Monday), and holidays.
+
+alter table organizations add column working_days integer not null default 31;
+
+create table holidays (
+    id bigint generated by default as identity primary key,
+    organization_id bigint not null references organizations (id),
+    date date not null,
+    name varchar(255) not null,
+    constraint uk_holidays_organization_date unique (organization_id, date)
+);
@@ -0,0 +1,83 @@
+-- Opt-in: rebuilds leaves and timesheets as tables hash-partitioned by organization_id, so
+-- one organization's scans and vacuum stay inside its partition and its indexes stay small.
+-- Not a Flyway migration; run it once, in a maintenance window, after the application has
+-- migrated to at least V11:
+--
+--     psql -v ON_ERROR_STOP=1 -d ems_db -f hash_partition_by_organization.sql
+--
+-- Requires PostgreSQL 12+ and every leave and timesheet to belong to an organization.
+-- The primary keys become (id, organization_id); ids remain unique because they still come
+-- from a single sequence. Later migrations that alter these tables apply to all partitions.
+
+begin;
+
+lock table leaves, timesheets in access exclusive mode;
+
+do $$
+begin
+    if exists (select 1 from leaves where organization_id is null)
+            or exists (select 1 from timesheets where organization_id is null) then
+        raise exception 'leaves and timesheets without an organization must be assigned first';
+    end if;
+end $$;
+
+create table leaves_partitioned (like leaves including defaults including constraints)
+    partition by hash (organization_id);
+create table timesheets_partitioned (like timesheets including defaults including constraints)
+    partition by hash (organization_id);
+
+do $$
+begin
+    for remainder in 0..15 loop
+        execute format('create table leaves_p%s partition of leaves_partitioned '
+                       'for values with (modulus 16, remainder %s)', remainder, remainder);
+        execute format('create table timesheets_p%s partition of timesheets_partitioned '
+                       'for values with (modulus 16, remainder %s)', remainder, remainder);
+    end loop;
+end $$;
+
+insert into leaves_partitioned select * from leaves;
+insert into timesheets_partitioned select * from timesheets;
+
+-- Leave ids were an identity column of the old table; they now come from a plain sequence.
+create sequence leaves_id_seq;
+select setval('leaves_id_seq', coalesce((select max(id) from leaves), 0) + 1, false);
+
+drop table leaves;
+drop table timesheets;
+
+alter table leaves_partitioned rename to leaves;
+alter table timesheets_partitioned rename to timesheets;
+
+alter table leaves alter column id set default nextval('leaves_id_seq');
+alter sequence leaves_id_seq owned by leaves.id;
+alter table leaves alter column organization_id set not null;
+alter table timesheets alter column organization_id set not null;
+
+alter table leaves add primary key (id, organization_id);
+alter table timesheets add primary key (id, organization_id);
+
+alter table leaves add foreign key (user_id) references users (id);
+alter table leaves add foreign key (approved_by) references users (id);
+alter table timesheets add foreign key (user_id) references users (id);
+alter table timesheets add foreign key (approved_by) references users (id);
+
+create index idx_leaves_department_status_start_date on leaves (department_id, status, start_date);
+create index idx_leaves_user_dates on leaves (user_id, start_date, end_date);
+create index idx_leaves_status_id on leaves (status, id);
+create index idx_leaves_organization_start_date on leaves (organization_id, start_date);
+create index idx_leaves_pending_department_id on leaves (department_id, id) where status = 'PENDING';
+
+create index idx_timesheets_department_status_date on timesheets (department_id, status, date);
+create index idx_timesheets_user_date on timesheets (user_id, date);
+create index idx_timesheets_status_id on timesheets (status, id);
+create index idx_timesheets_organization_date on timesheets (organization_id, date);
+create index idx_timesheets_pending_department_id on timesheets (department_id, id) where status = 'PENDING';
+create index idx_timesheets_project_trgm on timesheets using gin (lower(project) gin_trgm_ops);
+create index idx_timesheets_text_search on timesheets
+    using gin (to_tsvector('english', coalesce(project, '') || ' ' || coalesce(description, '')));
+
+commit;
+
+analyze leaves;
+analyze timesheets;
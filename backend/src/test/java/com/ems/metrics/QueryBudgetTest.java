@@ -0,0 +1,62 @@
+package com.ems.metrics;
+
+import com.ems.domain.Department;
+import com.ems.service.DepartmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryBudgetTest {
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Long organizationId;
+
+    @BeforeEach
+    void setUp() {
+        String subdomain = "budget-" + System.nanoTime();
+        jdbc.update("insert into organizations (name, subdomain, working_days) values (?, ?, 31)",
+                "Query Budget " + subdomain, subdomain);
+        organizationId = jdbc.queryForObject("select id from organizations where subdomain = ?", Long.class,
+                subdomain);
+        jdbc.update("insert into departments (name, organization_id) values ('Engineering', ?), ('Sales', ?)",
+                organizationId, organizationId);
+    }
+
+    @Test
+    void countsTheStatementsHibernateIssues() {
+        List<Department> departments = QueryBudget.expectStatements(1,
+                () -> departmentService.getDepartmentsByOrganizationId(organizationId));
+
+        assertThat(departments).extracting(Department::getName).containsExactlyInAnyOrder("Engineering", "Sales");
+    }
+
+    @Test
+    void servesARepeatedLookupFromTheQueryCache() {
+        departmentService.getDepartmentsByOrganizationId(organizationId);
+
+        assertThat(QueryBudget.expectStatements(0,
+                () -> departmentService.getDepartmentsByOrganizationId(organizationId))).hasSize(2);
+    }
+
+    @Test
+    void rejectsALookupOverBudget() {
+        assertThatThrownBy(() -> QueryBudget.expectStatements(0,
+                () -> departmentService.getDepartmentsByOrganizationId(organizationId)))
+                .isInstanceOf(QueryBudgetViolationException.class)
+                .hasMessageContaining("1 were issued");
+    }
+}